@@ -0,0 +1,29 @@
+package de.timongcraft.tgctranslations.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the gc profiler enabled, so both throughput and allocation rate are reported.
+ * <p>
+ * Accepts the regular JMH command line options, e.g. {@code java -jar benchmarks.jar TranslateBenchmark -p argumentCount=8}.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+
+}
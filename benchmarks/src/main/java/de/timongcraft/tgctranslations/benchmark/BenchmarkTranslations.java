@@ -0,0 +1,51 @@
+package de.timongcraft.tgctranslations.benchmark;
+
+import de.timongcraft.tgctranslations.TranslationKeyRegistry;
+import de.timongcraft.tgctranslations.TranslationManager;
+import de.timongcraft.tgctranslations.utils.ComponentTranslatable;
+import net.kyori.adventure.key.Key;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Creates the translation managers used by the benchmarks, all loading the languages in {@link #RESOURCE_FOLDER}.
+ */
+final class BenchmarkTranslations {
+
+    static final String RESOURCE_FOLDER = "benchmark/lang";
+    static final String[] RAW_KEYS = {"plain", "styled", "arguments_1", "arguments_3", "arguments_8", "argument", "fallback_only",
+            "numbers", "numbers_text"};
+    static final Locale DEFAULT_LOCALE = Locale.US;
+
+    private static final Logger LOGGER = Logger.getLogger("TgcTranslations benchmark");
+
+    private BenchmarkTranslations() {}
+
+    /**
+     * Creates and loads a manager with the given namespace, registering it in the global translator.
+     */
+    static Manager load(String namespace) {
+        TranslationKeyRegistry registry = new TranslationKeyRegistry(Key.key(namespace, "translations"));
+        ComponentTranslatable[] translatables = new ComponentTranslatable[RAW_KEYS.length];
+        for (int i = 0; i < RAW_KEYS.length; i++)
+            translatables[i] = registry.register(RAW_KEYS[i]);
+
+        TranslationManager manager = new TranslationManager(LOGGER, registry, Key.key(namespace, "translations"),
+                DEFAULT_LOCALE, BenchmarkTranslations.class.getClassLoader(), RESOURCE_FOLDER, null);
+        manager.load();
+        return new Manager(manager, namespace + ".", translatables);
+    }
+
+    /**
+     * A loaded manager together with the translatables of its keys, in the order of {@link #RAW_KEYS}.
+     */
+    record Manager(TranslationManager manager, String prefix, ComponentTranslatable[] translatables) {
+
+        String key(String rawKey) {
+            return prefix + rawKey;
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package de.timongcraft.tgctranslations.benchmark;
+
+import de.timongcraft.tgctranslations.TranslationManager;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.pointer.Pointers;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a message for 500 audiences spread over 6 locales,
+ * once per audience and once per locale using {@link TranslationManager#renderFor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    private static final int AUDIENCE_COUNT = 500;
+    private static final Locale[] LOCALES = {
+            Locale.US, Locale.UK, Locale.GERMANY, Locale.of("de", "AT"), Locale.FRANCE, Locale.of("es", "ES")
+    };
+
+    private BenchmarkTranslations.Manager manager;
+    private List<Audience> audiences;
+    private TranslatableComponent message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        manager = BenchmarkTranslations.load("benchmark");
+        audiences = new ArrayList<>(AUDIENCE_COUNT);
+        for (int i = 0; i < AUDIENCE_COUNT; i++)
+            audiences.add(new LocaleAudience(LOCALES[i % LOCALES.length]));
+        message = Component.translatable(manager.key("styled"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.manager().unload();
+    }
+
+    @Benchmark
+    public void renderPerAudience(Blackhole blackhole) {
+        for (Audience audience : audiences)
+            blackhole.consume(GlobalTranslator.render(message, audience.getOrDefault(Identity.LOCALE, Locale.US)));
+    }
+
+    @Benchmark
+    public Map<Component, List<Audience>> renderPerLocale() {
+        return manager.manager().renderFor(audiences, message);
+    }
+
+    private record LocaleAudience(Locale locale) implements Audience {
+
+        @Override
+        public @NotNull Pointers pointers() {
+            return Pointers.builder().withStatic(Identity.LOCALE, locale).build();
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package de.timongcraft.tgctranslations.benchmark;
+
+import de.timongcraft.tgctranslations.TranslationManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GlobalTranslator#render} with several {@link TranslationManager}s registered as sources,
+ * rendering a key of the last registered manager,
+ * compared to rendering the same key directly using the {@link TranslationManager#renderer} of that manager.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalTranslatorBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int sourceCount;
+
+    private BenchmarkTranslations.Manager[] managers;
+    private TranslatableComponent plain;
+    private TranslatableComponent withArguments;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        managers = new BenchmarkTranslations.Manager[sourceCount];
+        for (int i = 0; i < sourceCount; i++)
+            managers[i] = BenchmarkTranslations.load("benchmark" + i);
+
+        BenchmarkTranslations.Manager manager = managers[sourceCount - 1];
+        plain = Component.translatable(manager.key("plain"));
+        withArguments = Component.translatable(manager.key("arguments_3"),
+                Component.translatable(manager.key("argument")),
+                Component.translatable(manager.key("argument")),
+                Component.translatable(manager.key("argument")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (BenchmarkTranslations.Manager manager : managers)
+            manager.manager().unload();
+    }
+
+    @Benchmark
+    public Component renderPlain() {
+        return GlobalTranslator.render(plain, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderArguments() {
+        return GlobalTranslator.render(withArguments, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderArgumentsDirect() {
+        return managers[sourceCount - 1].manager().renderer.render(withArguments, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderForeignKey() {
+        return GlobalTranslator.render(Component.translatable("unknown.key"), BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+}
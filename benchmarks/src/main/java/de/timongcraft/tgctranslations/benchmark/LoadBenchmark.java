@@ -0,0 +1,79 @@
+package de.timongcraft.tgctranslations.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import de.timongcraft.tgctranslations.lang.TranslationReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a language file, comparing the streaming {@link TranslationReader} with building a json tree first.
+ * <p>
+ * The gc profiler reports the bytes allocated per read ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"1000", "10000"})
+    public int keyCount;
+
+    private byte[] languageFile;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder builder = new StringBuilder("{\n");
+        for (int i = 0; i < keyCount; i++) {
+            if (i != 0) builder.append(",\n");
+            builder.append("  \"key_").append(i).append("\": \"<gray>Translation number ").append(i)
+                    .append(" for <gold><arg:0></gold> and <arg:1></gray>\"");
+        }
+        languageFile = builder.append("\n}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void readStreaming(Blackhole blackhole) throws IOException {
+        try (JsonReader reader = new JsonReader(reader())) {
+            reader.beginObject();
+            TranslationReader.readObject(reader, "", (rawKey, translation) -> blackhole.consume(translation), blackhole::consume);
+            reader.endObject();
+        }
+    }
+
+    @Benchmark
+    public void readTree(Blackhole blackhole) throws IOException {
+        try (Reader reader = reader()) {
+            for (Map.Entry<String, JsonElement> entry : JsonParser.parseReader(reader).getAsJsonObject().entrySet())
+                blackhole.consume(entry.getValue().getAsString());
+        }
+    }
+
+    private Reader reader() {
+        return new InputStreamReader(new ByteArrayInputStream(languageFile), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,159 @@
+package de.timongcraft.tgctranslations.benchmark;
+
+import de.timongcraft.tgctranslations.TranslationManager;
+import de.timongcraft.tgctranslations.utils.ComponentTranslatable;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the render path of a single {@link TranslationManager}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TranslateBenchmark {
+
+    private static final Locale FALLBACK_LOCALE = Locale.of("de", "AT"); // de_AT > de_DE > en_US
+    private static final int LORE_LINES = 20;
+
+    private BenchmarkTranslations.Manager manager;
+    private TranslatableComponent plain;
+    private TranslatableComponent styled;
+    private TranslatableComponent fallback;
+    private ComponentTranslatable plainTranslatable;
+    private List<Component> lore;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        manager = BenchmarkTranslations.load("benchmark");
+
+        plain = Component.translatable(manager.key("plain"));
+        styled = Component.translatable(manager.key("plain"), NamedTextColor.GREEN, TextDecoration.BOLD, TextDecoration.ITALIC)
+                .append(Component.text(" [", NamedTextColor.DARK_GRAY))
+                .append(Component.text("info", NamedTextColor.GRAY))
+                .append(Component.text("]", NamedTextColor.DARK_GRAY));
+        fallback = Component.translatable(manager.key("fallback_only"));
+        plainTranslatable = manager.translatables()[0];
+
+        Component owner = Component.translatable(manager.key("argument"));
+        lore = new ArrayList<>(LORE_LINES);
+        for (int i = 0; i < LORE_LINES; i++) {
+            lore.add(i % 2 == 0 ? Component.translatable(manager.key("plain"))
+                    : Component.translatable(manager.key("arguments_1"), owner));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.manager().unload();
+    }
+
+    @Benchmark
+    public Component translatePlain() {
+        return manager.manager().translate(plain, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component translateNestedArguments(Arguments arguments) {
+        return manager.manager().translate(arguments.component, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component translateStyled() {
+        return manager.manager().translate(styled, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component translateDefaultLocaleFallback() {
+        return manager.manager().translate(fallback, FALLBACK_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderPlain() {
+        return GlobalTranslator.render(plain, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderNestedArguments(Arguments arguments) {
+        return GlobalTranslator.render(arguments.component, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public void renderLoreEach(Blackhole blackhole) {
+        for (Component line : lore)
+            blackhole.consume(GlobalTranslator.render(line, BenchmarkTranslations.DEFAULT_LOCALE));
+    }
+
+    @Benchmark
+    public List<Component> renderLoreAll() {
+        return manager.manager().renderAll(lore, BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderTypedNumbers() {
+        return manager.manager().renderer.render(Component.translatable(manager.key("numbers"),
+                TranslationArgument.numeric(1_234_567), TranslationArgument.numeric(7), TranslationArgument.numeric(-12.5)),
+                BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public Component renderNumbersAsText() {
+        return manager.manager().renderer.render(Component.translatable(manager.key("numbers_text"),
+                Component.text(String.format("%,d", 1_234_567)), Component.text(String.format("%02d", 7)), Component.text(String.valueOf(-12.5))),
+                BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    @Benchmark
+    public String asPlain() {
+        return plainTranslatable.asPlain(BenchmarkTranslations.DEFAULT_LOCALE);
+    }
+
+    /**
+     * A translatable with the given number of arguments, each being a translatable of the same manager.
+     */
+    @State(Scope.Benchmark)
+    public static class Arguments {
+
+        @Param({"1", "3", "8"})
+        public int argumentCount;
+
+        private TranslatableComponent component;
+
+        @Setup(Level.Trial)
+        public void setup(TranslateBenchmark benchmark) {
+            List<ComponentLike> arguments = new ArrayList<>(argumentCount);
+            for (int i = 0; i < argumentCount; i++)
+                arguments.add(Component.translatable(benchmark.manager.key("argument")));
+            component = Component.translatable(benchmark.manager.key("arguments_" + argumentCount), arguments);
+        }
+
+    }
+
+}
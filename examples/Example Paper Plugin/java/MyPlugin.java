@@ -9,8 +9,9 @@ public final class MyPlugin extends JavaPlugin {
 
     @Override
     public void onLoad() {
-        translationManager = new TranslationManager(getLogger(), new TranslationKey(), TranslationKey.IDENTIFICATION_KEY,
-                "my_plugin/lang", getDataPath().resolve("lang"));
+        // the registry is a library class, so the resources are resolved through the class loader of the plugin
+        translationManager = new TranslationManager(getLogger(), TranslationKey.REGISTRY, TranslationKey.IDENTIFICATION_KEY, null,
+                getClassLoader(), "my_plugin/lang", getDataPath().resolve("lang"));
         translationManager.load();
     }
 
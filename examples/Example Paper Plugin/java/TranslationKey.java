@@ -1,32 +1,16 @@
 package my.package;
 
-import de.timongcraft.tgctranslations.TranslationKeyManager;
+import de.timongcraft.tgctranslations.TranslationKeyRegistry;
+import de.timongcraft.tgctranslations.utils.ComponentTranslatable;
 import net.kyori.adventure.key.Key;
 
-import java.util.ArrayList;
-import java.util.List;
-
-public class TranslationKey implements TranslationKeyManager {
+public final class TranslationKey {
 
     static final Key IDENTIFICATION_KEY = Key.key("my_plugin", "translations");
-    private static final List<String> ADVENTURE_KEYS = new ArrayList<>();
-
-    public static final ComponentTranslatable MY_TRANSLATION_KEY = registerKey("xy.my_translation");
-
-    private static ComponentTranslatable registerKey(String rawKey) {
-        String key = TranslationKeyManager.getPrefix(IDENTIFICATION_KEY) + rawKey;
-        ADVENTURE_KEYS.add(key);
-        return ComponentTranslatable.ofTranslationKey(key);
-    }
+    static final TranslationKeyRegistry REGISTRY = new TranslationKeyRegistry(IDENTIFICATION_KEY);
 
-    TranslationKey() {}
+    public static final ComponentTranslatable MY_TRANSLATION_KEY = REGISTRY.register("xy.my_translation");
 
-    @Override
-    public boolean hasKey(String key) {
-        for (String fqKey : ADVENTURE_KEYS)
-            if (fqKey.equals(key))
-                return true;
-        return false;
-    }
+    private TranslationKey() {}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package de.timongcraft.tgctranslations;
+
+/**
+ * Statistics of a cache of a {@link TranslationManager}.
+ *
+ * @param hits      the number of lookups served from the cache
+ * @param misses    the number of lookups not served from the cache
+ * @param evictions the number of entries removed to stay within the capacity
+ * @param size      the current number of entries
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    /**
+     * Gets the ratio of lookups served from the cache, or 0 if there were no lookups.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+}
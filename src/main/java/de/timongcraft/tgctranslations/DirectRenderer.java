@@ -0,0 +1,31 @@
+package de.timongcraft.tgctranslations;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Renders translatables of a {@link TranslationManager} directly through that manager, including their arguments,
+ * without offering them to every source of the {@link GlobalTranslator} first.
+ * Translatables of other translators are rendered using the {@link GlobalTranslator}.
+ */
+final class DirectRenderer extends TranslatableComponentRenderer<Locale> {
+
+    private final TranslationManager manager;
+
+    DirectRenderer(TranslationManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    protected @NotNull Component renderTranslatable(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        Component translated = manager.translateDirect(component, locale);
+        if (translated == null) return GlobalTranslator.render(component, locale);
+        return optionallyRenderChildrenAndStyle(translated, locale);
+    }
+
+}
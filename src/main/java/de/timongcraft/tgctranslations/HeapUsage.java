@@ -0,0 +1,90 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.lang.Language;
+import de.timongcraft.tgctranslations.lang.StreamBasedLanguage;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * An estimate of the heap used by the raw translations of a {@link TranslationManager}, excluding compiled templates.
+ *
+ * @param keyCount                 the number of translation keys
+ * @param languageCount            the number of loaded languages
+ * @param translationCount         the number of translations of all languages
+ * @param distinctTranslationCount the number of translation strings actually stored, as equal translations are shared
+ * @param estimatedBytes           the estimated size of the shared key table and the per-language translation arrays
+ * @param estimatedMapBytes        the estimated size of the same translations stored in one hash map per language,
+ *                                 each holding its own copies of the keys and translations
+ * @see TranslationManager#heapUsage()
+ */
+public record HeapUsage(int keyCount, int languageCount, int translationCount, int distinctTranslationCount,
+                        long estimatedBytes, long estimatedMapBytes) {
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int STRING_BYTES = 24;
+    private static final int MAP_NODE_BYTES = 32;
+    private static final int MAP_BYTES = 48;
+    private static final int INTEGER_BYTES = 16;
+
+    /**
+     * Gets the estimated number of bytes saved compared to one hash map per language.
+     */
+    public long savedBytes() {
+        return estimatedMapBytes - estimatedBytes;
+    }
+
+    static HeapUsage estimate(LanguageSnapshot snapshot, TranslationKeyIndex keyIndex) {
+        int keyCount = keyIndex.size();
+        long keyBytes = arrayBytes(keyCount);
+        for (int keyId = 0; keyId < keyCount; keyId++)
+            keyBytes += stringBytes(keyIndex.key(keyId)) + MAP_NODE_BYTES + INTEGER_BYTES;
+
+        int translationCount = 0;
+        long translationBytes = 0;
+        long mapBytes = 0;
+        Set<String> distinctTranslations = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Language language : snapshot.languages().values()) {
+            int languageTranslationCount = 0;
+            translationBytes += arrayBytes(keyCount);
+            for (int keyId = 0; keyId < keyCount; keyId++) {
+                String key = keyIndex.key(keyId);
+                String translation = language instanceof StreamBasedLanguage streamBasedLanguage
+                        ? streamBasedLanguage.rawTranslation(keyId) : language.translate(key);
+                if (translation == null) continue;
+
+                languageTranslationCount++;
+                if (distinctTranslations.add(translation)) translationBytes += stringBytes(translation);
+                mapBytes += MAP_NODE_BYTES + stringBytes(key) + stringBytes(translation);
+            }
+            translationCount += languageTranslationCount;
+            mapBytes += MAP_BYTES + arrayBytes(mapTableSize(languageTranslationCount));
+        }
+
+        return new HeapUsage(keyCount, snapshot.languages().size(), translationCount, distinctTranslations.size(),
+                keyBytes + translationBytes, mapBytes);
+    }
+
+    private static long stringBytes(String string) {
+        boolean latin1 = string.chars().allMatch(character -> character <= 0xFF);
+        return STRING_BYTES + align(ARRAY_HEADER_BYTES + (long) string.length() * (latin1 ? 1 : 2));
+    }
+
+    private static long arrayBytes(int length) {
+        return align(ARRAY_HEADER_BYTES + (long) length * REFERENCE_BYTES);
+    }
+
+    private static int mapTableSize(int entries) {
+        int size = 16;
+        while (size * 0.75 < entries) size <<= 1;
+        return size;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+}
@@ -0,0 +1,203 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.TranslationManager.LanguageFile;
+import de.timongcraft.tgctranslations.lang.LanguageBundle;
+import de.timongcraft.tgctranslations.utils.LanguageBundleGenerator;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Persists the merged translations of all language files of a {@link TranslationManager} as a {@link LanguageBundle},
+ * so they can be mapped on the next start instead of parsing the json files again.
+ * <p>
+ * Each cache file is named after a hash of the language files it was built from, so it is only used as long as none of them changed.
+ * Files are hashed by their fingerprint, e.g. their size and modification time, and only read if they have none.
+ */
+final class LanguageCache {
+
+    private static final int VERSION = 3; // part of the hash, to invalidate caches written by other versions
+    private static final String SUFFIX = ".bundle";
+
+    private final Logger logger;
+    private final Path folderPath;
+
+    /**
+     * @param logger     the logger used to report issues while reading or writing the cache
+     * @param folderPath the folder containing the cache files
+     */
+    LanguageCache(Logger logger, Path folderPath) {
+        this.logger = logger;
+        this.folderPath = folderPath;
+    }
+
+    /**
+     * Hashes the fingerprints of the given language files, or their contents if they have no fingerprint.
+     *
+     * @return the hash, or null if a file cannot be read
+     */
+    @Nullable String hash(List<LanguageFile> languageFiles) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(0, VERSION));
+
+        Set<LanguageBundle> bundles = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<LanguageFile> sortedFiles = languageFiles.stream()
+                .sorted(Comparator.comparing(languageFile -> languageFile.locale().toLanguageTag()))
+                .toList();
+        try {
+            for (LanguageFile languageFile : sortedFiles) {
+                update(digest, languageFile.locale().toLanguageTag().getBytes(StandardCharsets.UTF_8));
+                if (languageFile.bundle() != null && bundles.add(languageFile.bundle())) {
+                    languageFile.bundle().digest(digest);
+                }
+                if (languageFile.internalFileName() != null) {
+                    String fingerprint = languageFile.internalSource().fingerprint(languageFile.internalFileName());
+                    if (fingerprint != null) {
+                        update(digest, fingerprint.getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        try (InputStream stream = languageFile.internalSource().open(languageFile.internalFileName())) {
+                            update(digest, stream == null ? new byte[0] : stream.readAllBytes());
+                        }
+                    }
+                }
+                if (languageFile.overridePath() != null) {
+                    BasicFileAttributes attributes = Files.readAttributes(languageFile.overridePath(), BasicFileAttributes.class);
+                    update(digest, (attributes.lastModifiedTime().toMillis() + ":" + attributes.size()).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to hash language files for the language cache in " + folderPath, e);
+            return null;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, byte[] bytes) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(0, bytes.length));
+        digest.update(bytes);
+    }
+
+    /**
+     * Maps the cache file of the given hash.
+     * <p>
+     * Invalid cache files, e.g. truncated by a crash, are deleted.
+     *
+     * @return the cached bundle, or null if there is no valid cache file for the hash
+     */
+    @Nullable LanguageBundle load(String hash) {
+        Path path = folderPath.resolve(hash + SUFFIX);
+        if (!Files.isRegularFile(path)) return null;
+
+        try {
+            return LanguageBundle.map(path);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to read language cache " + path + ", parsing the language files again", e);
+            // rewritten after parsing
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException deleteException) {
+                logger.log(Level.FINE, "Unable to delete invalid language cache " + path, deleteException);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Merges the translations of the given language files by reading them again and writes them as cache file of the given hash.
+     *
+     * @see #write(String, Map)
+     */
+    void write(String hash, List<LanguageFile> languageFiles) {
+        Map<Locale, Map<String, String>> translations = new LinkedHashMap<>();
+        try {
+            for (LanguageFile languageFile : languageFiles)
+                translations.put(languageFile.locale(), merge(languageFile));
+        } catch (IOException e) {
+            // not cached, as the language files are parsed again anyway and report the issue when loading
+            return;
+        }
+        write(hash, translations);
+    }
+
+    /**
+     * Writes the given merged translations as cache file of the given hash, then deletes all previous cache files.
+     * <p>
+     * Previous cache files which cannot be deleted, e.g. as they are still mapped by another instance, are kept until the next write.
+     *
+     * @param translations the raw keys and values of each language by their locale
+     */
+    void write(String hash, Map<Locale, Map<String, String>> translations) {
+        Path path = folderPath.resolve(hash + SUFFIX);
+        try {
+            Files.createDirectories(folderPath);
+            Path tempPath = Files.createTempFile(folderPath, hash, ".tmp");
+            try (OutputStream stream = Files.newOutputStream(tempPath)) {
+                LanguageBundle.write(translations, stream);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to write language cache " + path, e);
+            return;
+        }
+
+        List<Path> oldPaths;
+        try (Stream<Path> paths = Files.list(folderPath)) {
+            oldPaths = paths.filter(oldPath -> oldPath.getFileName().toString().endsWith(SUFFIX) && !oldPath.equals(path)).toList();
+        } catch (IOException e) {
+            return; // deleted on the next write
+        }
+        for (Path oldPath : oldPaths) {
+            try {
+                Files.deleteIfExists(oldPath);
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Unable to delete previous language cache " + oldPath, e);
+            }
+        }
+    }
+
+    private static Map<String, String> merge(LanguageFile languageFile) throws IOException {
+        Map<String, String> translations = new LinkedHashMap<>();
+        if (languageFile.bundle() != null) {
+            languageFile.bundle().forEachTranslation(languageFile.locale(), translations::put);
+        }
+        if (languageFile.internalFileName() != null) {
+            try (InputStream stream = languageFile.internalSource().open(languageFile.internalFileName())) {
+                if (stream != null) LanguageBundleGenerator.readTranslations(stream, translations);
+            }
+        }
+        if (languageFile.overridePath() != null) {
+            try (InputStream stream = Files.newInputStream(languageFile.overridePath())) {
+                LanguageBundleGenerator.readTranslations(stream, translations);
+            }
+        }
+        return translations;
+    }
+
+}
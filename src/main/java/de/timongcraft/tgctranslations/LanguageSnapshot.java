@@ -0,0 +1,290 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.lang.Language;
+import de.timongcraft.tgctranslations.lang.StreamBasedLanguage;
+import de.timongcraft.tgctranslations.resolver.TranslationTemplate;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable state of the languages loaded by a {@link TranslationManager}.
+ * <p>
+ * A snapshot is built completely before it is published, so readers never observe a partially loaded state.
+ * <p>
+ * Translations are looked up through one flattened table per requested locale, which resolves the fallback chain
+ * (exact locale &gt; same language &gt; default locale) once instead of on every lookup.
+ * Tables are arrays indexed by the ids of the {@link TranslationKeyIndex}.
+ */
+final class LanguageSnapshot {
+
+    static final LanguageSnapshot EMPTY = new LanguageSnapshot(Map.of(), Map.of(), Locale.US);
+
+    private final Map<Locale, Language> languages;
+    private final Map<Locale, TranslationTemplate[]> templates;
+    private final Locale defaultLocale;
+    private final Map<Locale, TranslationTemplate[]> tables = new ConcurrentHashMap<>();
+    private final Map<Locale, String[]> plainTexts = new ConcurrentHashMap<>(); // rendered argument-free translations
+
+    private LanguageSnapshot(Map<Locale, Language> languages, Map<Locale, TranslationTemplate[]> templates,
+                             Locale defaultLocale) {
+        this.languages = languages;
+        this.templates = templates;
+        this.defaultLocale = defaultLocale;
+
+        for (Locale locale : languages.keySet())
+            tables.put(locale, resolveTable(locale));
+    }
+
+    /**
+     * Builds a snapshot of the given compiled languages.
+     */
+    static LanguageSnapshot of(Collection<CompiledLanguage> compiledLanguages, Locale defaultLocale) {
+        Map<Locale, Language> languages = new HashMap<>();
+        Map<Locale, TranslationTemplate[]> templates = new HashMap<>();
+
+        for (CompiledLanguage compiledLanguage : compiledLanguages) {
+            languages.put(compiledLanguage.language().getLocale(), compiledLanguage.language());
+            templates.put(compiledLanguage.language().getLocale(), compiledLanguage.templates());
+        }
+
+        return new LanguageSnapshot(Map.copyOf(languages), Map.copyOf(templates), defaultLocale);
+    }
+
+    /**
+     * Creates a copy of this snapshot using another default locale.
+     */
+    LanguageSnapshot withDefaultLocale(Locale defaultLocale) {
+        return new LanguageSnapshot(languages, templates, defaultLocale);
+    }
+
+    /**
+     * Creates a copy of this snapshot with the language of the given locale replaced.
+     * The compiled translations of all other languages are kept.
+     *
+     * @param locale           the locale of the replaced language
+     * @param compiledLanguage the new language, or null to remove the language
+     */
+    LanguageSnapshot withLanguage(Locale locale, @Nullable CompiledLanguage compiledLanguage) {
+        Map<Locale, Language> languages = new HashMap<>(this.languages);
+        Map<Locale, TranslationTemplate[]> templates = new HashMap<>(this.templates);
+
+        if (compiledLanguage == null) {
+            languages.remove(locale);
+            templates.remove(locale);
+        } else {
+            languages.put(locale, compiledLanguage.language());
+            templates.put(locale, compiledLanguage.templates());
+        }
+
+        return new LanguageSnapshot(Map.copyOf(languages), Map.copyOf(templates), defaultLocale);
+    }
+
+    /**
+     * Gets the language of the given locale together with its compiled translations.
+     *
+     * @return the compiled language, or null if the language is not loaded
+     */
+    @Nullable CompiledLanguage compiledLanguage(Locale locale) {
+        Language language = languages.get(locale);
+        return language == null ? null : new CompiledLanguage(language, templates.get(locale));
+    }
+
+    @Unmodifiable
+    Map<Locale, Language> languages() {
+        return languages;
+    }
+
+    Locale defaultLocale() {
+        return defaultLocale;
+    }
+
+    /**
+     * Gets the compiled translation explicitly defined by the language of the given locale.
+     */
+    @Nullable TranslationTemplate explicitTemplate(Locale locale, int keyId) {
+        return get(templates.get(locale), keyId);
+    }
+
+    /**
+     * Gets the compiled translation for the given locale, including the ones inherited through the fallback chain.
+     */
+    @Nullable TranslationTemplate template(Locale locale, int keyId) {
+        TranslationTemplate[] table = tables.get(locale);
+        if (table == null) {
+            table = tables.computeIfAbsent(locale, this::resolveTable);
+        }
+        return get(table, keyId);
+    }
+
+    /**
+     * Gets the cached plain text of the translation for the given locale, rendered without arguments.
+     */
+    @Nullable String plainText(Locale locale, int keyId) {
+        String[] table = plainTexts.get(locale);
+        return table != null && keyId >= 0 && keyId < table.length ? table[keyId] : null;
+    }
+
+    /**
+     * Caches the plain text of the translation for the given locale, rendered without arguments.
+     */
+    void cachePlainText(Locale locale, int keyId, String plainText) {
+        String[] table = plainTexts.get(locale);
+        if (table == null) {
+            table = plainTexts.computeIfAbsent(locale, ignored -> new String[tables.computeIfAbsent(locale, this::resolveTable).length]);
+        }
+        // racing writers store equal texts
+        if (keyId < table.length) table[keyId] = plainText;
+    }
+
+    private static @Nullable TranslationTemplate get(TranslationTemplate @Nullable [] table, int keyId) {
+        return table != null && keyId >= 0 && keyId < table.length ? table[keyId] : null;
+    }
+
+    private TranslationTemplate[] resolveTable(Locale locale) {
+        // ordered from the lowest to the highest priority
+        Set<Locale> chain = new LinkedHashSet<>();
+        chain.add(defaultLocale);
+        Locale languageParent = findLanguageParent(locale);
+        if (languageParent != null) chain.add(languageParent);
+        chain.add(locale);
+        chain.removeIf(chainLocale -> !templates.containsKey(chainLocale));
+
+        if (chain.isEmpty()) return new TranslationTemplate[0];
+        if (chain.size() == 1) return templates.get(chain.iterator().next());
+
+        int length = 0;
+        for (Locale chainLocale : chain)
+            length = Math.max(length, templates.get(chainLocale).length);
+
+        TranslationTemplate[] table = new TranslationTemplate[length];
+        for (Locale chainLocale : chain) {
+            TranslationTemplate[] parentTable = templates.get(chainLocale);
+            for (int keyId = 0; keyId < parentTable.length; keyId++)
+                if (parentTable[keyId] != null)
+                    table[keyId] = parentTable[keyId];
+        }
+        return table;
+    }
+
+    private @Nullable Locale findLanguageParent(Locale locale) {
+        return findLanguageParent(locale, templates.keySet());
+    }
+
+    /**
+     * Finds the locale of the given locales which the given locale falls back to before the default locale.
+     * This is the language-only locale, the locale whose country matches the language, or the first other locale of the same language.
+     */
+    static @Nullable Locale findLanguageParent(Locale locale, Set<Locale> locales) {
+        if (locale.getLanguage().isEmpty()) return null;
+
+        Locale languageOnly = Locale.of(locale.getLanguage());
+        if (locales.contains(languageOnly)) return languageOnly;
+
+        Locale sameCountry = Locale.of(locale.getLanguage(), locale.getLanguage().toUpperCase(Locale.ROOT));
+        if (locales.contains(sameCountry)) return sameCountry;
+
+        return locales.stream()
+                .filter(loadedLocale -> loadedLocale.getLanguage().equals(locale.getLanguage()))
+                .min(Comparator.comparing(Locale::toLanguageTag))
+                .orElse(null);
+    }
+
+    /**
+     * A language together with its compiled translations, indexed by key id.
+     */
+    record CompiledLanguage(Language language, TranslationTemplate[] templates) {
+
+        /**
+         * Compiles all translations of the given language, recording the parse time of each translation if enabled.
+         * Translations which cannot be compiled are logged and left out, so the key falls back to another language.
+         *
+         * @param logger       the logger used to report translations which cannot be compiled
+         * @param interner     the interner sharing templates between the languages loaded together
+         * @param errorHandler the optional handler receiving the key and message of each error found while compiling
+         */
+        static CompiledLanguage compile(Logger logger, Language language, TranslationKeyIndex keyIndex, TranslationInterner interner,
+                                        TranslationMetrics metrics, @Nullable BiConsumer<String, String> errorHandler) {
+            int[] keyIds = assignIds(language.getKeys(), keyIndex);
+            TranslationTemplate[] templates = new TranslationTemplate[keyIndex.size()];
+            compileTemplates(logger, language, keyIds, templates, keyIndex, interner, metrics, errorHandler);
+            return new CompiledLanguage(language, templates);
+        }
+
+        /**
+         * Creates a copy of this compiled language using the given language, which differs only in the given keys.
+         * Only the translations of these keys are compiled, all other templates are kept.
+         *
+         * @param logger       the logger used to report translations which cannot be compiled
+         * @param keys         the keys of the added, changed or removed translations
+         * @param interner     the interner sharing templates between the loaded languages
+         * @param errorHandler the optional handler receiving the key and message of each error found while compiling
+         */
+        CompiledLanguage withTranslations(Logger logger, Language language, Collection<String> keys, TranslationKeyIndex keyIndex,
+                                          TranslationInterner interner, TranslationMetrics metrics,
+                                          @Nullable BiConsumer<String, String> errorHandler) {
+            int[] keyIds = assignIds(keys, keyIndex);
+            TranslationTemplate[] templates = Arrays.copyOf(this.templates, Math.max(this.templates.length, keyIndex.size()));
+            compileTemplates(logger, language, keyIds, templates, keyIndex, interner, metrics, errorHandler);
+            return new CompiledLanguage(language, templates);
+        }
+
+        private static int[] assignIds(Collection<String> keys, TranslationKeyIndex keyIndex) {
+            int[] keyIds = new int[keys.size()];
+            int keyCount = 0;
+            for (String key : keys)
+                keyIds[keyCount++] = keyIndex.assign(key);
+            return keyIds;
+        }
+
+        private static void compileTemplates(Logger logger, Language language, int[] keyIds, TranslationTemplate[] templates,
+                                             TranslationKeyIndex keyIndex, TranslationInterner interner,
+                                             TranslationMetrics metrics, @Nullable BiConsumer<String, String> errorHandler) {
+            boolean timed = metrics.isEnabled();
+            for (int keyId : keyIds) {
+                long start = timed ? System.nanoTime() : 0;
+                String key = keyIndex.key(keyId);
+                try {
+                    // plural and select translations are compiled from their encoded form
+                    String translation = language instanceof StreamBasedLanguage streamBasedLanguage
+                            ? streamBasedLanguage.rawTranslation(keyId) : language.translate(key);
+                    templates[keyId] = compileTemplate(translation, key, interner, errorHandler);
+                } catch (RuntimeException e) {
+                    // a single broken translation must not fail the whole language
+                    templates[keyId] = null;
+                    logger.log(Level.WARNING, "Translation for language " + language.getLocale().toLanguageTag()
+                            + " could not be compiled (Key: " + key + ")", e);
+                }
+                if (timed) metrics.recordParse(System.nanoTime() - start);
+            }
+        }
+
+        private static @Nullable TranslationTemplate compileTemplate(@Nullable String literalTranslation, String key,
+                                                                     TranslationInterner interner,
+                                                                     @Nullable BiConsumer<String, String> errorHandler) {
+            if (literalTranslation == null) return null;
+            if (errorHandler == null) return interner.template(literalTranslation);
+
+            // only error-free templates are shared, so errors are reported for every key using the translation
+            Set<String> errors = new LinkedHashSet<>(); // a tag may be resolved more than once
+            TranslationTemplate template = TranslationTemplate.compile(literalTranslation, errors::add);
+            if (errors.isEmpty()) interner.share(literalTranslation, template);
+            errors.forEach(error -> errorHandler.accept(key, error));
+            return template;
+        }
+
+    }
+
+}
@@ -0,0 +1,163 @@
+package de.timongcraft.tgctranslations;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks the languages of a {@link TranslationManager} loading its languages lazily.
+ * <p>
+ * A language is loaded in the background on the first request for its locale or a locale falling back to it,
+ * so requests never wait for it and use the fallback chain until it is published.
+ * Languages which have not been requested for the idle timeout are evicted, except the one of the pinned locale.
+ * Request times are only as precise as the tick of the evictor, at most a second, which keeps requests cheap.
+ */
+final class LazyLanguages implements Closeable {
+
+    private static final long MIN_TICK_MILLIS = 100;
+    private static final long MAX_TICK_MILLIS = 1000;
+
+    private final TranslationManager manager;
+    private final long idleTimeoutNanos;
+    private final Map<Locale, State> states = new ConcurrentHashMap<>(); // by locale of the language files
+    private final Map<Locale, State[]> chains = new ConcurrentHashMap<>(); // by requested locale
+    private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService evictor;
+    private volatile Locale pinnedLocale;
+    private volatile long clock = System.nanoTime(); // advanced every tick, so requests don't read the system clock
+
+    /**
+     * Starts tracking the given languages.
+     *
+     * @param locales       the locales of all available language files
+     * @param loadedLocales the locales of the languages which are loaded already
+     * @param pinnedLocale  the locale whose language is never evicted
+     * @param idleTimeout   the time after the last request of a language before it is evicted
+     */
+    LazyLanguages(TranslationManager manager, Set<Locale> locales, Set<Locale> loadedLocales, Locale pinnedLocale,
+                  Duration idleTimeout) {
+        this.manager = manager;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.pinnedLocale = pinnedLocale;
+
+        for (Locale locale : locales)
+            states.put(locale, new State(locale, loadedLocales.contains(locale), clock));
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread evictorThread = new Thread(runnable, "TgcTranslations language evictor");
+            evictorThread.setDaemon(true);
+            return evictorThread;
+        });
+        long tickMillis = Math.clamp(idleTimeout.toMillis() / 8, MIN_TICK_MILLIS, MAX_TICK_MILLIS);
+        evictor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Marks the languages used for the given locale as requested, loading the ones which are not loaded yet.
+     */
+    void request(Locale locale) {
+        State[] chain = chains.get(locale);
+        if (chain == null) {
+            chain = chains.computeIfAbsent(locale, this::resolveChain);
+        }
+
+        long now = clock;
+        for (State state : chain) {
+            if (state.lastRequest != now) state.lastRequest = now; // written at most once per tick
+            if (!state.requested.get() && state.requested.compareAndSet(false, true)) {
+                loader.execute(() -> manager.loadLazyLanguage(this, state.locale));
+            }
+        }
+    }
+
+    /**
+     * Checks whether the language of the given locale is loaded or being loaded.
+     */
+    boolean isRequested(Locale locale) {
+        State state = states.get(locale);
+        return state != null && state.requested.get();
+    }
+
+    /**
+     * Adds the language file of the given locale, which is loaded on its next request.
+     */
+    void add(Locale locale) {
+        if (states.putIfAbsent(locale, new State(locale, false, clock)) == null) {
+            chains.clear();
+        }
+    }
+
+    /**
+     * Pins the given locale, loading its language if needed, and unpins the previously pinned locale.
+     */
+    void pin(Locale locale) {
+        pinnedLocale = locale;
+        request(locale);
+    }
+
+    /**
+     * Marks the language of the given locale as evicted if it is still idle and not pinned.
+     *
+     * @return whether the language is evicted
+     */
+    boolean evict(Locale locale) {
+        State state = states.get(locale);
+        if (state == null || !isIdle(state, clock)) return false;
+        return state.requested.compareAndSet(true, false);
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        clock = now;
+        for (State state : states.values())
+            if (state.requested.get() && isIdle(state, now))
+                manager.evictLazyLanguage(this, state.locale);
+    }
+
+    private boolean isIdle(State state, long now) {
+        return !state.locale.equals(pinnedLocale) && now - state.lastRequest >= idleTimeoutNanos;
+    }
+
+    private State[] resolveChain(Locale locale) {
+        List<State> chain = new ArrayList<>(2);
+        State exact = states.get(locale);
+        if (exact != null) chain.add(exact);
+        Locale languageParent = LanguageSnapshot.findLanguageParent(locale, states.keySet());
+        if (languageParent != null && !languageParent.equals(locale)) chain.add(states.get(languageParent));
+        return chain.toArray(State[]::new);
+    }
+
+    /**
+     * Stops loading and evicting languages.
+     */
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        loader.shutdownNow();
+    }
+
+    private static final class State {
+
+        private final Locale locale;
+        private final AtomicBoolean requested; // loaded or being loaded
+        private volatile long lastRequest;
+
+        private State(Locale locale, boolean requested, long lastRequest) {
+            this.locale = locale;
+            this.requested = new AtomicBoolean(requested);
+            this.lastRequest = lastRequest;
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package de.timongcraft.tgctranslations;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the overrides folder of a {@link TranslationManager} for changed language files.
+ * <p>
+ * Changes are debounced per file, so a file is only reported once it has not changed for the configured delay.
+ */
+final class OverridesWatcher implements Closeable {
+
+    private final Logger logger;
+    private final Path folderPath;
+    private final long debounceMillis;
+    private final Consumer<String> changeHandler;
+    private final WatchService watchService;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, ScheduledFuture<?>> pendingChanges = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    /**
+     * Starts watching the given folder.
+     *
+     * @param logger        the logger used to report issues while watching
+     * @param folderPath    the folder to watch
+     * @param debounce      the delay after the last change of a file before it is reported
+     * @param changeHandler the handler receiving the names of changed files
+     */
+    OverridesWatcher(Logger logger, Path folderPath, Duration debounce, Consumer<String> changeHandler) throws IOException {
+        this.logger = logger;
+        this.folderPath = folderPath;
+        this.debounceMillis = debounce.toMillis();
+        this.changeHandler = changeHandler;
+        this.watchService = folderPath.getFileSystem().newWatchService();
+        folderPath.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread schedulerThread = new Thread(runnable, "TgcTranslations overrides reloader");
+            schedulerThread.setDaemon(true);
+            return schedulerThread;
+        });
+        this.thread = new Thread(this::watch, "TgcTranslations overrides watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (!(event.context() instanceof Path path)) continue;
+                    String fileName = path.getFileName().toString();
+                    if (!fileName.endsWith(".json")) continue;
+                    scheduleChange(fileName);
+                }
+                if (!key.reset()) {
+                    logger.log(Level.WARNING, "Stopped watching language overrides in " + folderPath + ", as the folder is no longer accessible");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // closed
+        }
+    }
+
+    private void scheduleChange(String fileName) {
+        pendingChanges.compute(fileName, (ignored, pendingChange) -> {
+            if (pendingChange != null) pendingChange.cancel(false);
+            return scheduler.schedule(() -> {
+                pendingChanges.remove(fileName);
+                try {
+                    changeHandler.accept(fileName);
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Unable to reload language override " + fileName, e);
+                }
+            }, debounceMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Stops watching the folder and discards pending changes.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        scheduler.shutdownNow();
+        thread.interrupt();
+    }
+
+}
@@ -0,0 +1,34 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.utils.ComponentTranslatable;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * A {@link ComponentTranslatable} registered in a {@link TranslationKeyRegistry},
+ * which renders its plain text through the {@link TranslationManager} using the registry.
+ */
+record RegisteredTranslatable(String key, int keyId, TranslationKeyRegistry registry) implements ComponentTranslatable {
+
+    @NotNull
+    @Override
+    public String translationKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public TranslatableComponent asComponent() {
+        return Component.translatable(key);
+    }
+
+    @Override
+    public String asPlain(Locale locale) {
+        TranslationManager manager = registry.manager();
+        return manager != null ? manager.renderPlain(this, locale) : ComponentTranslatable.super.asPlain(locale);
+    }
+
+}
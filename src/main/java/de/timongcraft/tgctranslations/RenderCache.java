@@ -0,0 +1,106 @@
+package de.timongcraft.tgctranslations;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded cache of rendered messages, approximately evicting the least recently used messages when full.
+ * <p>
+ * Lookups take no lock. Each entry stores the number of misses at its last use, and once the capacity is exceeded,
+ * a single thread sweeps the entries, evicting the least recently used ones until the cache is below its capacity again.
+ * <p>
+ * Entries are bound to the {@link LanguageSnapshot} they were rendered with, so they are never served after a reload.
+ */
+final class RenderCache {
+
+    private final int capacity;
+    private final int sweepTarget; // the size a sweep evicts down to, below the capacity so sweeps are rare
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong clock = new AtomicLong(); // advanced on every miss
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    RenderCache(int capacity) {
+        this.capacity = capacity;
+        this.sweepTarget = capacity - Math.max(1, capacity / 8);
+    }
+
+    /**
+     * Gets the rendered message, rendering and caching it if absent.
+     */
+    Component get(LanguageSnapshot snapshot, Component message, Locale locale,
+                  BiFunction<Component, Locale, Component> renderer) {
+        Key key = new Key(snapshot, message, locale);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            long time = clock.get();
+            if (entry.lastUsed != time) entry.lastUsed = time; // avoids a volatile write on repeated hits
+            hits.increment();
+            return entry.rendered;
+        }
+
+        misses.increment();
+        Component rendered = renderer.apply(message, locale);
+        entries.put(key, new Entry(rendered, clock.incrementAndGet()));
+        if (entries.size() > capacity) sweep();
+        return rendered;
+    }
+
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) return; // another thread is already sweeping
+
+        try {
+            long[] lastUsed = new long[entries.size()];
+            int count = 0;
+            for (Entry entry : entries.values()) {
+                if (count == lastUsed.length) break; // entries added since
+                lastUsed[count++] = entry.lastUsed;
+            }
+            if (count <= sweepTarget) return;
+
+            Arrays.sort(lastUsed, 0, count);
+            long threshold = lastUsed[count - sweepTarget - 1]; // entries used at or before it are evicted
+            for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+                if (iterator.next().lastUsed > threshold) continue;
+                iterator.remove();
+                evictions.increment();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private record Key(LanguageSnapshot snapshot, Component message, Locale locale) {}
+
+    private static final class Entry {
+
+        private final Component rendered;
+        private volatile long lastUsed;
+
+        private Entry(Component rendered, long lastUsed) {
+            this.rendered = rendered;
+            this.lastUsed = lastUsed;
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.resolver.TranslationTemplate;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares equal translations and their compiled templates between the languages loaded together,
+ * so a translation used by multiple languages is only stored and compiled once.
+ * <p>
+ * A new interner is used for every full load, so translations of previous loads are not retained.
+ */
+@ApiStatus.Internal
+public final class TranslationInterner {
+
+    private final Map<String, String> translations = new ConcurrentHashMap<>();
+    private final Map<String, TranslationTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared instance of the given translation.
+     */
+    public String intern(String translation) {
+        String interned = translations.putIfAbsent(translation, translation);
+        return interned != null ? interned : translation;
+    }
+
+    /**
+     * Gets the shared compiled template of the given translation, compiling it if absent.
+     */
+    TranslationTemplate template(String literalTranslation) {
+        TranslationTemplate template = templates.get(literalTranslation);
+        if (template != null) return template;
+
+        template = TranslationTemplate.compile(literalTranslation);
+        TranslationTemplate sharedTemplate = templates.putIfAbsent(literalTranslation, template);
+        return sharedTemplate != null ? sharedTemplate : template;
+    }
+
+    /**
+     * Shares the given template, which has to be compiled from the given translation.
+     */
+    void share(String literalTranslation, TranslationTemplate template) {
+        templates.putIfAbsent(literalTranslation, template);
+    }
+
+}
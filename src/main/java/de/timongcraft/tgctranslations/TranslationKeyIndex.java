@@ -0,0 +1,79 @@
+package de.timongcraft.tgctranslations;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense integer ids to translation keys, which are used to store translations in flat arrays.
+ * <p>
+ * Ids are never reassigned, so they stay valid across reloads. Lookups are thread-safe and lock-free.
+ */
+@ApiStatus.Internal
+public final class TranslationKeyIndex {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] keys = new String[64];
+    private volatile int size;
+
+    /**
+     * Gets the id of the given key.
+     *
+     * @return the id, or -1 if no id is assigned to the key
+     */
+    public int id(String key) {
+        Integer id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the id of the given key, assigning the next free id if none is assigned yet.
+     */
+    public int assign(String key) {
+        Integer id = ids.get(key);
+        if (id != null) return id;
+
+        synchronized (this) {
+            id = ids.get(key);
+            if (id != null) return id;
+
+            int newId = size;
+            String[] keys = this.keys;
+            if (newId == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[newId] = key;
+            this.keys = keys;
+            size = newId + 1;
+            ids.put(key, newId);
+            return newId;
+        }
+    }
+
+    /**
+     * Gets the key with the given id.
+     *
+     * @throws IndexOutOfBoundsException if no key has the id
+     */
+    public String key(int id) {
+        if (id < 0 || id >= size) throw new IndexOutOfBoundsException("No key with id " + id);
+        return keys[id];
+    }
+
+    /**
+     * Checks whether the given id is assigned to the given key.
+     */
+    public boolean matches(int id, String key) {
+        return id >= 0 && id < size && keys[id].equals(key);
+    }
+
+    /**
+     * Gets the number of assigned ids.
+     */
+    public int size() {
+        return size;
+    }
+
+}
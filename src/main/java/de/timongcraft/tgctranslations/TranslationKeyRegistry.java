@@ -0,0 +1,62 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.utils.ComponentTranslatable;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A {@link TranslationKeyManager} which registers its keys up front and assigns each of them a dense id.
+ * <p>
+ * The {@link ComponentTranslatable}s returned by {@link #register(String)} carry this id,
+ * so a {@link TranslationManager} using this registry can look up their translations without hashing the key.
+ * Their plain text is rendered directly by that manager.
+ */
+public class TranslationKeyRegistry implements TranslationKeyManager {
+
+    private final TranslationKeyIndex index = new TranslationKeyIndex();
+    private final String prefix;
+    private volatile @Nullable TranslationManager manager;
+
+    /**
+     * Constructs a new {@code TranslationKeyRegistry}.
+     *
+     * @param identificationKey the {@link Key} identifying the translation manager using this registry
+     */
+    public TranslationKeyRegistry(Key identificationKey) {
+        this.prefix = TranslationKeyManager.getPrefix(Objects.requireNonNull(identificationKey, "identificationKey"));
+    }
+
+    /**
+     * Registers the given key.
+     *
+     * @param rawKey the key without the prefix of the translation manager
+     * @return the translatable of the registered key
+     */
+    public ComponentTranslatable register(String rawKey) {
+        String key = prefix + Objects.requireNonNull(rawKey, "rawKey");
+        return new RegisteredTranslatable(key, index.assign(key), this);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasKey(String key) {
+        return index.id(key) != -1;
+    }
+
+    TranslationKeyIndex index() {
+        return index;
+    }
+
+    @Nullable TranslationManager manager() {
+        return manager;
+    }
+
+    void manager(TranslationManager manager) {
+        this.manager = manager;
+    }
+
+}
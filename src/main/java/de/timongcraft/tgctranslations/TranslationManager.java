@@ -1,38 +1,63 @@
 package de.timongcraft.tgctranslations;
 
+import de.timongcraft.tgctranslations.LanguageSnapshot.CompiledLanguage;
 import de.timongcraft.tgctranslations.lang.Language;
+import de.timongcraft.tgctranslations.lang.LanguageBundle;
+import de.timongcraft.tgctranslations.lang.LanguageChanges;
+import de.timongcraft.tgctranslations.lang.LanguageProvider;
 import de.timongcraft.tgctranslations.lang.StreamBasedLanguage;
-import de.timongcraft.tgctranslations.resolver.ComponentArgumentTag;
+import de.timongcraft.tgctranslations.resolver.TranslationTemplate;
+import de.timongcraft.tgctranslations.utils.ComponentTranslatable;
+import de.timongcraft.tgctranslations.utils.ResourceSource;
 import de.timongcraft.tgctranslations.utils.ResourceUtils;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.TranslatableComponent;
 import net.kyori.adventure.text.TranslationArgument;
-import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.kyori.adventure.translation.Translator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Unmodifiable;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -42,15 +67,45 @@ import java.util.stream.Stream;
 @SuppressWarnings("unused")
 public class TranslationManager implements Translator {
 
-    public final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.usingTranslationSource(this);
-    private final Map<Locale, Language> languages = new HashMap<>();
+    /**
+     * The suffix appended to the resource folder path to locate an optional {@link LanguageBundle},
+     * which replaces the json language files of the resource folder if present.
+     */
+    public static final String BUNDLE_SUFFIX = ".bundle";
+
+    private static final int RENDER_CACHE_CAPACITY = 1024;
+
+    /**
+     * Renders translatables of this manager directly, including their arguments,
+     * and all other translatables using the {@link GlobalTranslator}.
+     */
+    public final TranslatableComponentRenderer<Locale> renderer = new DirectRenderer(this);
+    private final BiFunction<Component, Locale, Component> renderFunction = renderer::render;
     private final Logger logger;
     private final TranslationKeyManager keyManager;
+    private final TranslationKeyIndex keyIndex;
     private final Key identificationKey;
     private final String prefix;
+    private final ClassLoader resourceClassLoader;
     private final String resourceFolderPath;
     private final @Nullable Path overridesFolderPath;
-    private Locale defaultLocale; // parameter > Locale.getDefault() > Locale.US > first loaded
+    private volatile LanguageSnapshot snapshot = LanguageSnapshot.EMPTY; // only replaced while synchronized
+    private @Nullable OverridesWatcher overridesWatcher;
+    private volatile Locale defaultLocale; // parameter > Locale.getDefault() > Locale.US > first loaded
+    private final RenderCache renderCache = new RenderCache(RENDER_CACHE_CAPACITY);
+    private final TranslationMetrics metrics;
+    private @Nullable ObjectName metricsObjectName;
+    private volatile boolean validation;
+    private volatile TranslationInterner interner = new TranslationInterner(); // replaced on every full load
+    private volatile @Nullable Duration lazyLoading; // idle timeout, null if languages are loaded eagerly
+    private volatile @Nullable LazyLanguages lazyLanguages; // only replaced while synchronized
+    private volatile @Nullable LanguageCache languageCache;
+    private volatile @Nullable LanguageBundle cachedBundle; // the language cache matching the language files, if any
+    private volatile Map<Locale, LanguageFile> languageFiles = Map.of(); // discovered on the last load of all languages
+    private final Object providerLock = new Object(); // held while applying the changes of the language provider
+    private volatile @Nullable LanguageProvider languageProvider;
+    private volatile Map<Locale, Map<String, String>> providedTranslations = Map.of(); // by raw key, only replaced while holding the provider lock
+    private long providedVersion = LanguageProvider.NO_VERSION; // guarded by the provider lock
 
     /**
      * Constructs a new {@code TranslationManager}.
@@ -89,71 +144,679 @@ public class TranslationManager implements Translator {
      * @param defaultLocale       the optional {@link Locale} used as default
      * @param overridesFolderPath the {@link Path} to the overrides language folder (null to disable overrides)
      * @implNote The namespace of {@link #identificationKey}, followed by a dot, is used as a prefix for all translation keys.
+     * Resources are resolved through the class loader of the key manager, which has to be a class of the plugin.
+     * Use {@link #TranslationManager(Logger, TranslationKeyManager, Key, Locale, ClassLoader, String, Path)} otherwise,
+     * e.g. for a {@link TranslationKeyRegistry}.
+     */
+    public TranslationManager(Logger logger, TranslationKeyManager keyManager, Key identificationKey, @Nullable Locale defaultLocale,
+                              String resourceFolderPath,
+                              @Nullable Path overridesFolderPath) {
+        this(logger, keyManager, identificationKey, defaultLocale,
+                Objects.requireNonNull(keyManager, "keyManager").getClass().getClassLoader(), resourceFolderPath, overridesFolderPath);
+    }
+
+    /**
+     * Constructs a new {@code TranslationManager}.
+     *
+     * @param logger              the logger used to report issues during language loading
+     * @param keyManager          the translation key manager used to validate keys
+     * @param identificationKey   the {@link Key} identifying this translation manager
+     * @param defaultLocale       the optional {@link Locale} used as default
+     * @param resourceClassLoader the {@link ClassLoader} of the plugin, used to resolve the resource folder
+     * @param overridesFolderPath the {@link Path} to the overrides language folder (null to disable overrides)
+     * @implNote The namespace of {@link #identificationKey}, followed by a dot, is used as a prefix for all translation keys.
      */
     public TranslationManager(Logger logger, TranslationKeyManager keyManager, Key identificationKey, @Nullable Locale defaultLocale,
+                              ClassLoader resourceClassLoader,
                               String resourceFolderPath,
                               @Nullable Path overridesFolderPath) {
         this.logger = Objects.requireNonNull(logger, "logger");
         this.keyManager = Objects.requireNonNull(keyManager, "keyManager");
+        this.keyIndex = keyManager instanceof TranslationKeyRegistry registry ? registry.index() : new TranslationKeyIndex();
         this.identificationKey = Objects.requireNonNull(identificationKey, "identificationKey");
         this.defaultLocale = defaultLocale;
+        this.resourceClassLoader = Objects.requireNonNull(resourceClassLoader, "resourceClassLoader");
         this.resourceFolderPath = Objects.requireNonNull(resourceFolderPath, "resourceFolderPath");
         this.overridesFolderPath = overridesFolderPath;
         this.prefix = TranslationKeyManager.getPrefix(identificationKey);
+        this.metrics = new TranslationMetrics(keyIndex, renderCache);
+        if (keyManager instanceof TranslationKeyRegistry registry) registry.manager(this);
     }
 
+    /**
+     * Loads all languages and publishes them at once, replacing the previously loaded languages.
+     * <p>
+     * Note: Translations keep using the previously loaded languages until loading is complete.
+     * If {@link #lazyLoading(Duration) lazy loading} is enabled, only the languages of the default locale
+     * and the previously loaded locales are loaded.
+     */
     public void loadLanguages() {
-        Map<String, InputStream> internalDefinitions = ResourceUtils.getFileStreams(resourceFolderPath, keyManager.getClass().getClassLoader(), logger);
-        Map<String, Path> overrideDefinitions = new HashMap<>();
-
-        if (overridesFolderPath != null && Files.exists(overridesFolderPath)) {
-            try (Stream<Path> paths = Files.walk(overridesFolderPath, 1)) {
-                paths.filter(Files::isRegularFile)
-                        .filter(path -> path.getFileName().toString().endsWith(".json"))
-                        .forEach(path -> overrideDefinitions.put(path.getFileName().toString(), path));
+        join(loadLanguagesAsync(Runnable::run));
+    }
+
+    /**
+     * Loads all languages in parallel on virtual threads and publishes them at once when done.
+     *
+     * @see #loadLanguages()
+     */
+    public CompletableFuture<Void> loadLanguagesAsync() {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        return loadLanguagesAsync(executor).whenComplete((result, throwable) -> executor.shutdown());
+    }
+
+    /**
+     * Loads all languages in parallel using the given executor and publishes them at once when done.
+     *
+     * @param executor the executor used to load each language
+     * @see #loadLanguages()
+     */
+    public CompletableFuture<Void> loadLanguagesAsync(Executor executor) {
+        TranslationInterner interner = new TranslationInterner();
+        Duration lazyLoading = this.lazyLoading;
+        return CompletableFuture.supplyAsync(this::findLanguageFiles, executor)
+                .thenCompose(discoveredFiles -> {
+                    List<LanguageFile> languageFiles = discoveredFiles.languageFiles();
+                    // the languages before applying the provided translations, which are written to the language cache
+                    Map<Locale, StreamBasedLanguage> baseLanguages = discoveredFiles.missingCacheHash() == null ? null
+                            : new ConcurrentHashMap<>();
+
+                    Set<Locale> locales = new HashSet<>();
+                    for (LanguageFile languageFile : languageFiles)
+                        locales.add(languageFile.locale());
+                    Locale pinnedLocale = defaultLocale != null ? defaultLocale : calcDefaultLocale(locales);
+
+                    List<CompletableFuture<CompiledLanguage>> futures = new ArrayList<>(languageFiles.size());
+                    for (LanguageFile languageFile : languageFiles) {
+                        if (lazyLoading != null && !languageFile.locale().equals(pinnedLocale)
+                                && !snapshot.languages().containsKey(languageFile.locale())) continue;
+                        futures.add(CompletableFuture.supplyAsync(() -> loadLanguage(languageFile, interner, baseLanguages), executor));
+                    }
+
+                    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                            .thenAccept(ignored -> {
+                                List<CompiledLanguage> compiledLanguages = futures.stream().map(CompletableFuture::join).toList();
+                                publishLanguages(compiledLanguages, interner, pinnedLocale, lazyLoading == null ? null
+                                        : new LazyLanguages(this, locales, compiledLanguages.stream()
+                                        .map(compiledLanguage -> compiledLanguage.language().getLocale())
+                                        .collect(Collectors.toSet()), pinnedLocale, lazyLoading));
+                                if (baseLanguages != null) {
+                                    writeLanguageCache(discoveredFiles.missingCacheHash(), languageFiles, baseLanguages);
+                                }
+                            });
+                });
+    }
+
+    private DiscoveredFiles findLanguageFiles() {
+        DiscoveredFiles discoveredFiles = findMergedLanguageFiles();
+        fetchProvidedTranslations();
+
+        Set<Locale> locales = new HashSet<>(providedTranslations.keySet());
+        for (LanguageFile languageFile : discoveredFiles.languageFiles())
+            locales.remove(languageFile.locale());
+        if (locales.isEmpty()) return discoveredFiles;
+
+        List<LanguageFile> combinedLanguageFiles = new ArrayList<>(discoveredFiles.languageFiles());
+        for (Locale locale : locales)
+            combinedLanguageFiles.add(new LanguageFile(locale, ResourceSource.empty(), null, null, null));
+        return new DiscoveredFiles(combinedLanguageFiles, discoveredFiles.missingCacheHash());
+    }
+
+    private DiscoveredFiles findMergedLanguageFiles() {
+        LanguageBundle bundle = ResourceUtils.getBundle(resourceFolderPath + BUNDLE_SUFFIX, resourceClassLoader, logger);
+        ResourceSource internalSource = bundle != null ? ResourceSource.empty()
+                : ResourceUtils.getResourceSource(resourceFolderPath, resourceClassLoader, logger);
+        Map<Locale, Path> overridePaths = findOverridePaths();
+
+        Map<Locale, String> internalFileNames = new HashMap<>();
+        for (String fileName : internalSource.getFileNames())
+            if (fileName.endsWith(".json"))
+                internalFileNames.put(ResourceUtils.getLocale(fileName), fileName);
+
+        Set<Locale> combinedLocales = new HashSet<>() {{
+            addAll(internalFileNames.keySet());
+            if (bundle != null) addAll(bundle.getLocales());
+            addAll(overridePaths.keySet());
+        }};
+
+        List<LanguageFile> languageFiles = new ArrayList<>(combinedLocales.size());
+        for (Locale locale : combinedLocales) {
+            languageFiles.add(new LanguageFile(
+                    locale,
+                    internalSource,
+                    internalFileNames.get(locale),
+                    bundle != null && bundle.getLocales().contains(locale) ? bundle : null,
+                    overridePaths.get(locale)
+            ));
+        }
+        this.languageFiles = languageFiles.stream().collect(Collectors.toUnmodifiableMap(LanguageFile::locale, languageFile -> languageFile));
+
+        LanguageCache languageCache = this.languageCache;
+        if (languageCache == null) {
+            cachedBundle = null;
+            return new DiscoveredFiles(languageFiles, null);
+        }
+
+        String hash = languageCache.hash(languageFiles);
+        LanguageBundle cachedBundle = hash == null ? null : languageCache.load(hash);
+        this.cachedBundle = cachedBundle;
+        if (cachedBundle == null) return new DiscoveredFiles(languageFiles, hash);
+
+        List<LanguageFile> cachedLanguageFiles = new ArrayList<>(languageFiles.size());
+        for (LanguageFile languageFile : languageFiles)
+            cachedLanguageFiles.add(new LanguageFile(languageFile.locale(), ResourceSource.empty(), null, cachedBundle, null));
+        return new DiscoveredFiles(cachedLanguageFiles, null);
+    }
+
+    /**
+     * Writes the language cache of the given hash in the background, from the already loaded languages if all of them are loaded.
+     * In lazy mode, the language files are read again instead.
+     *
+     * @param baseLanguages the loaded languages before applying the provided translations, by their locale
+     */
+    private void writeLanguageCache(String hash, List<LanguageFile> languageFiles, Map<Locale, StreamBasedLanguage> baseLanguages) {
+        LanguageCache languageCache = this.languageCache;
+        if (languageCache == null) return;
+
+        // only the language files, not the languages only known by the language provider
+        List<LanguageFile> mergedFiles = languageFiles.stream()
+                .filter(languageFile -> languageFile.internalFileName() != null || languageFile.bundle() != null
+                        || languageFile.overridePath() != null)
+                .toList();
+        Thread.ofVirtual().name("TgcTranslations language cache writer").start(() -> {
+            Map<Locale, Map<String, String>> translations = new LinkedHashMap<>();
+            for (LanguageFile languageFile : mergedFiles) {
+                StreamBasedLanguage language = baseLanguages.get(languageFile.locale());
+                if (language == null) {
+                    languageCache.write(hash, mergedFiles);
+                    return;
+                }
+
+                Map<String, String> languageTranslations = new LinkedHashMap<>();
+                for (String key : language.getKeys())
+                    languageTranslations.put(key.substring(prefix.length()), language.rawTranslation(keyIndex.id(key)));
+                translations.put(languageFile.locale(), languageTranslations);
+            }
+            languageCache.write(hash, translations);
+        });
+    }
+
+    // file names are parsed case-insensitively, e.g. 'de_DE.json' and 'de_de.json' are both the file of de_DE
+    private Map<Locale, Path> findOverridePaths() {
+        Map<Locale, Path> overridePaths = new HashMap<>();
+        if (overridesFolderPath == null || !Files.exists(overridesFolderPath)) return overridePaths;
+
+        try (Stream<Path> paths = Files.walk(overridesFolderPath, 1)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .forEach(path -> overridePaths.put(ResourceUtils.getLocale(path.getFileName().toString()), path));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to read language overrides from " + overridesFolderPath, e);
+        }
+        return overridePaths;
+    }
+
+    private CompiledLanguage loadLanguage(LanguageFile languageFile, TranslationInterner interner) {
+        return loadLanguage(languageFile, interner, null);
+    }
+
+    /**
+     * @param baseLanguages receives the language before applying the provided translations, if not null
+     */
+    private CompiledLanguage loadLanguage(LanguageFile languageFile, TranslationInterner interner,
+                                          @Nullable Map<Locale, StreamBasedLanguage> baseLanguages) {
+        StreamBasedLanguage language;
+        if (languageFile.bundle() != null) {
+            language = new StreamBasedLanguage(logger, keyManager, keyIndex, interner, prefix,
+                    languageFile.locale(), languageFile.bundle(), languageFile.overridePath());
+        } else {
+            String internalFileName = languageFile.internalFileName();
+            try (InputStream stream = internalFileName == null ? null : languageFile.internalSource().open(internalFileName)) {
+                language = new StreamBasedLanguage(logger, keyManager, keyIndex, interner, prefix,
+                        languageFile.locale(), stream, languageFile.overridePath());
             } catch (IOException e) {
-                logger.log(Level.WARNING, "Unable to read language overrides from " + overridesFolderPath, e);
+                logger.log(Level.WARNING, "Unable to read built-in definition " + resourceFolderPath + "/" + internalFileName, e);
+                language = new StreamBasedLanguage(logger, keyManager, keyIndex, interner, prefix,
+                        languageFile.locale(), (InputStream) null, languageFile.overridePath());
             }
         }
+        if (baseLanguages != null) baseLanguages.put(languageFile.locale(), language);
+        Map<String, String> translations = providedTranslations.get(languageFile.locale());
+        if (translations != null) {
+            language = language.withTranslations(logger, keyManager, interner, prefix, translations);
+        }
+        return CompiledLanguage.compile(logger, language, keyIndex, interner, metrics, validationHandler(language.getLocale()));
+    }
+
+    private @Nullable BiConsumer<String, String> validationHandler(Locale locale) {
+        if (!validation) return null;
+        return (key, error) -> logger.log(Level.WARNING, "Translation for language " + locale.toLanguageTag()
+                + " contains invalid minimessage (Key: " + key + "): " + error);
+    }
+
+    private synchronized void publishLanguages(List<CompiledLanguage> compiledLanguages, TranslationInterner interner,
+                                               Locale calculatedDefaultLocale, @Nullable LazyLanguages lazyLanguages) {
+        if (defaultLocale == null) {
+            defaultLocale = calculatedDefaultLocale;
+        }
 
-        Set<String> combinedFileNames = new HashSet<>() {{
-            addAll(internalDefinitions.keySet());
-            addAll(overrideDefinitions.keySet());
-        }};
+        LanguageSnapshot loadedSnapshot = LanguageSnapshot.of(compiledLanguages, defaultLocale);
+        validateArguments(loadedSnapshot, loadedSnapshot.languages().keySet());
+        this.interner = interner;
+        replaceLazyLanguages(lazyLanguages);
+        publish(loadedSnapshot);
+    }
 
-        for (String fileName : combinedFileNames) {
-            addLanguage(new StreamBasedLanguage(
-                    logger,
-                    keyManager,
-                    prefix,
-                    Locale.forLanguageTag(fileName.substring(0, fileName.length() - 5).replace("_", "-")),
-                    internalDefinitions.get(fileName),
-                    overrideDefinitions.get(fileName)
-            ));
+    private synchronized void replaceLazyLanguages(@Nullable LazyLanguages lazyLanguages) {
+        if (this.lazyLanguages != null) this.lazyLanguages.close();
+        this.lazyLanguages = lazyLanguages;
+    }
+
+    private synchronized void publish(LanguageSnapshot publishedSnapshot) {
+        snapshot = publishedSnapshot;
+        renderCache.clear();
+    }
+
+    /**
+     * Reloads the language of the given locale from its built-in definition and override file,
+     * keeping all other languages and their compiled translations.
+     *
+     * @param locale the locale of the language to reload
+     */
+    public void reloadLanguage(Locale locale) {
+        cachedBundle = null; // outdated, as the language file changed
+        loadLanguageFile(locale);
+    }
+
+    private void loadLanguageFile(Locale locale) {
+        LanguageFile languageFile = findLanguageFile(locale);
+
+        LazyLanguages lazyLanguages = this.lazyLanguages;
+        if (lazyLanguages != null && !lazyLanguages.isRequested(locale)) {
+            // loaded on its next request
+            if (languageFile != null) lazyLanguages.add(locale);
+            return;
+        }
+
+        CompiledLanguage compiledLanguage = languageFile == null ? null : loadLanguage(languageFile, interner);
+        publishLanguage(locale, compiledLanguage);
+    }
+
+    /**
+     * Finds the files of the given locale among the ones discovered on the last load of all languages,
+     * only looking for a new override file if the discovered one does not exist anymore.
+     */
+    private @Nullable LanguageFile findLanguageFile(Locale locale) {
+        LanguageBundle cachedBundle = this.cachedBundle;
+        if (cachedBundle != null && cachedBundle.getLocales().contains(locale)) {
+            return new LanguageFile(locale, ResourceSource.empty(), null, cachedBundle, null);
+        } else if (cachedBundle != null) {
+            return providedTranslations.containsKey(locale)
+                    ? new LanguageFile(locale, ResourceSource.empty(), null, null, null) : null;
+        }
+
+        LanguageFile languageFile = languageFiles.get(locale);
+        Path overridePath = languageFile == null ? null : languageFile.overridePath();
+        if (overridePath == null || !Files.exists(overridePath)) overridePath = findOverridePaths().get(locale);
+
+        if (languageFile == null) {
+            return overridePath != null || providedTranslations.containsKey(locale)
+                    ? new LanguageFile(locale, ResourceSource.empty(), null, null, overridePath) : null;
+        }
+        return new LanguageFile(locale, languageFile.internalSource(), languageFile.internalFileName(), languageFile.bundle(), overridePath);
+    }
+
+    private synchronized void publishLanguage(Locale locale, @Nullable CompiledLanguage compiledLanguage) {
+        LanguageSnapshot reloadedSnapshot = snapshot.withLanguage(locale, compiledLanguage);
+        validateArguments(reloadedSnapshot, locale.equals(reloadedSnapshot.defaultLocale())
+                ? reloadedSnapshot.languages().keySet() : Set.of(locale));
+        publish(reloadedSnapshot);
+    }
+
+    /**
+     * Loads the language of the given locale requested for the first time in lazy mode.
+     */
+    void loadLazyLanguage(LazyLanguages lazyLanguages, Locale locale) {
+        CompiledLanguage compiledLanguage;
+        try {
+            LanguageFile languageFile = findLanguageFile(locale);
+            compiledLanguage = languageFile == null ? null : loadLanguage(languageFile, interner);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to load language " + locale.toLanguageTag(), e);
+            return;
         }
+
+        synchronized (this) {
+            // discarded if the languages were fully reloaded or the language was evicted in the meantime
+            if (this.lazyLanguages != lazyLanguages || !lazyLanguages.isRequested(locale)) return;
+            publishLanguage(locale, compiledLanguage);
+        }
+    }
+
+    /**
+     * Removes the language of the given locale, which has not been requested for the idle timeout in lazy mode.
+     */
+    synchronized void evictLazyLanguage(LazyLanguages lazyLanguages, Locale locale) {
+        if (this.lazyLanguages != lazyLanguages || !lazyLanguages.evict(locale)) return;
+        publish(snapshot.withLanguage(locale, null));
+    }
+
+    /**
+     * Gets the provider of the translations applied on top of the built-in definitions and overrides.
+     *
+     * @return the provider, or null if none is set
+     * @see #languageProvider(LanguageProvider)
+     */
+    public @Nullable LanguageProvider languageProvider() {
+        return languageProvider;
+    }
+
+    /**
+     * Sets the provider of translations applied on top of the built-in definitions and overrides,
+     * e.g. a {@link de.timongcraft.tgctranslations.lang.DirectoryLanguageProvider} shared by multiple servers.
+     * Takes effect on the next load of all languages.
+     *
+     * @param languageProvider the provider, or null to only use the built-in definitions and overrides
+     * @see #syncLanguages()
+     */
+    public void languageProvider(@Nullable LanguageProvider languageProvider) {
+        synchronized (providerLock) {
+            this.languageProvider = languageProvider;
+            providedVersion = LanguageProvider.NO_VERSION;
+        }
+    }
+
+    /**
+     * Applies the translations changed by the {@link #languageProvider(LanguageProvider) language provider}
+     * since the last load or sync.
+     * <p>
+     * Only the changed translations are compiled, and each language is published with all of its changes at once.
+     * Languages with removed translations are reloaded, as the removed translations fall back to the language files.
+     *
+     * @throws UncheckedIOException if the changes cannot be read from the provider
+     */
+    public void syncLanguages() {
+        join(syncLanguagesAsync(Runnable::run));
+    }
+
+    /**
+     * Applies the translations changed by the language provider using the given executor.
+     *
+     * @param executor the executor used to read and apply the changes
+     * @see #syncLanguages()
+     */
+    public CompletableFuture<Void> syncLanguagesAsync(Executor executor) {
+        return CompletableFuture.runAsync(this::applyProvidedChanges, executor);
+    }
+
+    private void fetchProvidedTranslations() {
+        synchronized (providerLock) {
+            LanguageProvider languageProvider = this.languageProvider;
+            if (languageProvider == null) {
+                providedTranslations = Map.of();
+                providedVersion = LanguageProvider.NO_VERSION;
+                return;
+            }
+
+            try {
+                LanguageChanges changes = languageProvider.changesSince(providedVersion);
+                providedTranslations = applyChanges(providedTranslations, changes);
+                providedVersion = changes.version();
+            } catch (IOException e) {
+                // the previously provided translations are kept
+                logger.log(Level.WARNING, "Unable to read provided translations", e);
+            }
+        }
+    }
+
+    private void applyProvidedChanges() {
+        synchronized (providerLock) {
+            LanguageProvider languageProvider = this.languageProvider;
+            if (languageProvider == null) return;
+
+            LanguageChanges changes;
+            try {
+                changes = languageProvider.changesSince(providedVersion);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read provided translations", e);
+            }
+            Map<Locale, Map<String, String>> previousTranslations = providedTranslations;
+            providedTranslations = applyChanges(previousTranslations, changes);
+            providedVersion = changes.version();
+            if (changes.isEmpty() || snapshot == LanguageSnapshot.EMPTY) return; // applied on the first load
+
+            Set<Locale> locales = new HashSet<>(changes.changed().keySet());
+            locales.addAll(changes.removed().keySet());
+            if (changes.complete()) locales.addAll(previousTranslations.keySet());
+            for (Locale locale : locales) {
+                Map<String, String> changedTranslations = changes.changed().getOrDefault(locale, Map.of());
+                boolean removed = !changes.removed().getOrDefault(locale, Set.of()).isEmpty();
+                if (changes.complete()) {
+                    // reduced to the actual changes, so unchanged languages are kept
+                    Map<String, String> previousLocaleTranslations = previousTranslations.getOrDefault(locale, Map.of());
+                    removed = !changedTranslations.keySet().containsAll(previousLocaleTranslations.keySet());
+                    changedTranslations = new HashMap<>(changedTranslations);
+                    changedTranslations.entrySet().removeIf(entry -> entry.getValue().equals(previousLocaleTranslations.get(entry.getKey())));
+                    if (!removed && changedTranslations.isEmpty()) continue;
+                }
+
+                // removed translations fall back to the language files, so the language is loaded completely
+                if (removed || !patchLanguage(locale, changedTranslations)) loadLanguageFile(locale);
+            }
+        }
+    }
+
+    private static Map<Locale, Map<String, String>> applyChanges(Map<Locale, Map<String, String>> translations, LanguageChanges changes) {
+        Map<Locale, Map<String, String>> appliedTranslations = new HashMap<>(changes.complete() ? Map.of() : translations);
+        Set<Locale> locales = new HashSet<>(changes.changed().keySet());
+        locales.addAll(changes.removed().keySet());
+        for (Locale locale : locales) {
+            Map<String, String> localeTranslations = new HashMap<>(appliedTranslations.getOrDefault(locale, Map.of()));
+            localeTranslations.putAll(changes.changed().getOrDefault(locale, Map.of()));
+            localeTranslations.keySet().removeAll(changes.removed().getOrDefault(locale, Set.of()));
+            if (localeTranslations.isEmpty()) {
+                appliedTranslations.remove(locale);
+            } else {
+                appliedTranslations.put(locale, Map.copyOf(localeTranslations));
+            }
+        }
+        return Map.copyOf(appliedTranslations);
+    }
+
+    /**
+     * Adds or replaces the given translations in the loaded language of the given locale, compiling only these translations.
+     *
+     * @param translations the translations by their raw key
+     * @return whether the language was patched or is loaded on its next request, otherwise it has to be loaded completely
+     */
+    private boolean patchLanguage(Locale locale, Map<String, String> translations) {
+        LazyLanguages lazyLanguages = this.lazyLanguages;
+        if (lazyLanguages != null && !lazyLanguages.isRequested(locale)) {
+            // loaded on its next request
+            lazyLanguages.add(locale);
+            return true;
+        }
+
+        synchronized (this) {
+            CompiledLanguage compiledLanguage = snapshot.compiledLanguage(locale);
+            if (compiledLanguage == null || !(compiledLanguage.language() instanceof StreamBasedLanguage language)) return false;
+
+            List<String> keys = new ArrayList<>(translations.size());
+            for (String rawKey : translations.keySet())
+                if (keyManager.hasKey(prefix + rawKey))
+                    keys.add(prefix + rawKey);
+            StreamBasedLanguage patchedLanguage = language.withTranslations(logger, keyManager, interner, prefix, translations);
+            publishLanguage(locale, compiledLanguage.withTranslations(logger, patchedLanguage, keys, keyIndex, interner, metrics,
+                    validationHandler(locale)));
+            return true;
+        }
+    }
+
+    /**
+     * Checks whether the merged translations are cached on disk.
+     *
+     * @see #persistentCache(boolean)
+     */
+    public boolean persistentCache() {
+        return languageCache != null;
+    }
+
+    /**
+     * Sets whether the merged translations are cached on disk, which is disabled by default. Takes effect on the next load of all languages.
+     * <p>
+     * The cache is stored in a folder next to the overrides folder, e.g. {@code lang.cache} for {@code lang},
+     * and is only used while the hash of the built-in definitions and override files matches the one it was written for.
+     * Otherwise, the language files are parsed and the cache is rewritten in the background.
+     *
+     * @param persistentCache whether to cache the merged translations
+     * @throws IllegalStateException if no overrides folder is configured
+     */
+    public void persistentCache(boolean persistentCache) {
+        if (!persistentCache) {
+            languageCache = null;
+            return;
+        }
+        if (overridesFolderPath == null) throw new IllegalStateException("No overrides folder configured");
+
+        languageCache = new LanguageCache(logger, overridesFolderPath.resolveSibling(overridesFolderPath.getFileName() + ".cache"));
+    }
+
+    /**
+     * Gets the idle timeout of lazily loaded languages.
+     *
+     * @return the idle timeout, or null if languages are loaded eagerly
+     * @see #lazyLoading(Duration)
+     */
+    public @Nullable Duration lazyLoading() {
+        return lazyLoading;
+    }
+
+    /**
+     * Sets whether languages are loaded lazily, which is disabled by default. Takes effect on the next load of all languages.
+     * <p>
+     * In lazy mode, only the language files are indexed and the language of the default locale is loaded.
+     * Every other language is loaded in the background when its locale, or a locale falling back to it, is first requested.
+     * Requests don't wait for it and use the default locale in the meantime.
+     * Languages not requested for the idle timeout are removed again, except the one of the default locale.
+     * <p>
+     * Note: {@link #getLanguages()} and {@link #hasKey(String, Locale)} only consider the languages currently loaded.
+     *
+     * @param idleTimeout the time after the last request of a language before it is removed, or null to load all languages eagerly
+     */
+    public void lazyLoading(@Nullable Duration idleTimeout) {
+        if (idleTimeout != null && (idleTimeout.isNegative() || idleTimeout.isZero())) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.lazyLoading = idleTimeout;
+    }
+
+    /**
+     * Starts watching the overrides folder, reloading the language of an override file when it changes.
+     * <p>
+     * Note: Only the language of the changed file is reloaded. Watching stops on {@link #unload()}.
+     *
+     * @param debounce the delay after the last change of a file before it is reloaded
+     * @throws IllegalStateException if no overrides folder is configured
+     * @throws IOException           if the overrides folder cannot be watched
+     */
+    public synchronized void watchOverrides(Duration debounce) throws IOException {
+        if (overridesFolderPath == null) throw new IllegalStateException("No overrides folder configured");
+        if (overridesWatcher != null) return;
+
+        Files.createDirectories(overridesFolderPath);
+        overridesWatcher = new OverridesWatcher(logger, overridesFolderPath, debounce,
+                fileName -> reloadLanguage(ResourceUtils.getLocale(fileName)));
+    }
+
+    /**
+     * Stops watching the overrides folder.
+     *
+     * @see #watchOverrides(Duration)
+     */
+    public synchronized void unwatchOverrides() {
+        if (overridesWatcher == null) return;
+
+        try {
+            overridesWatcher.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to stop watching language overrides in " + overridesFolderPath, e);
+        }
+        overridesWatcher = null;
+    }
+
+    /**
+     * Gets the metrics of this manager, which are disabled by default.
+     */
+    public TranslationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the {@link #metrics()} of this manager as MBean in the platform MBean server.
+     * <p>
+     * Note: The MBean is unregistered on {@link #unload()}.
+     *
+     * @throws JMException if the MBean cannot be registered
+     */
+    public synchronized void registerMetricsMBean() throws JMException {
+        if (metricsObjectName != null) return;
+
+        ObjectName objectName = new ObjectName("de.timongcraft.tgctranslations:type=TranslationMetrics,name="
+                + ObjectName.quote(identificationKey.asString()));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+        metricsObjectName = objectName;
+    }
+
+    /**
+     * Unregisters the metrics MBean of this manager.
+     *
+     * @see #registerMetricsMBean()
+     */
+    public synchronized void unregisterMetricsMBean() {
+        if (metricsObjectName == null) return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsObjectName);
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "Unable to unregister metrics MBean " + metricsObjectName, e);
+        }
+        metricsObjectName = null;
     }
 
     /**
      * Registers this translation manager to be used in global translations.
+     * <p>
+     * Note: The manager is registered at the {@link TranslationRouter#shared() shared router},
+     * which routes the keys of all managers directly to their manager.
      */
     public void load() {
-        languages.clear();
         loadLanguages();
 
-        if (defaultLocale == null) {
-            calcDefaultLocale();
-        }
+        TranslationRouter.shared().addSource(this);
+    }
 
-        GlobalTranslator.translator().addSource(this);
+    /**
+     * Loads all languages in parallel using the given executor and registers this translation manager
+     * to be used in global translations when done.
+     *
+     * @param executor the executor used to load each language
+     * @see #load()
+     */
+    public CompletableFuture<Void> loadAsync(Executor executor) {
+        return loadLanguagesAsync(executor).thenRun(() -> TranslationRouter.shared().addSource(this));
     }
 
     /**
      * Unregisters this translation manager from global translations.
      */
     public void unload() {
-        GlobalTranslator.translator().removeSource(this);
+        TranslationRouter.shared().removeSource(this);
 
-        languages.clear();
+        synchronized (this) {
+            unwatchOverrides();
+            unregisterMetricsMBean();
+            replaceLazyLanguages(null);
+            publish(LanguageSnapshot.EMPTY);
+        }
     }
 
     /**
@@ -168,7 +831,7 @@ public class TranslationManager implements Translator {
      */
     public boolean hasKey(String key, Locale locale) {
         if (!hasKey(key)) return false;
-        Language language = languages.get(locale);
+        Language language = snapshot.languages().get(locale);
         if (language == null) return false;
         return language.hasKey(key);
     }
@@ -189,72 +852,306 @@ public class TranslationManager implements Translator {
         return null;
     }
 
+    /**
+     * Checks whether a translation, including fallbacks, is available for the given key and {@link Locale}.
+     * <p>
+     * Note: Unlike translating, this check records no {@link #metrics()}, as the global translator checks each key before translating it.
+     */
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        int keyId = keyIndex.id(key);
+        return keyId != -1 && snapshot(locale).template(locale, keyId) != null;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public @Nullable Component translate(TranslatableComponent component, @NotNull Locale locale) {
-        final String literalTranslation = translateLiteral(component.key(), locale);
-        if (literalTranslation == null) return null;
+        int keyId = keyIndex.id(component.key());
+        if (keyId == -1) return null;
+        return translate(snapshot(locale), keyId, component, locale, renderFunction);
+    }
 
-        Component resultingComponent;
+    /**
+     * Translates the given translatable, using the key id carried by it if available.
+     *
+     * @see TranslationKeyRegistry
+     */
+    public @Nullable Component translate(ComponentTranslatable translatable, Locale locale) {
+        int keyId = keyId(translatable, translatable.translationKey());
+        if (keyId == -1) return null;
+        return translate(snapshot(locale), keyId, translatable.asComponent(), locale, renderFunction);
+    }
+
+    /**
+     * Renders all given messages for the given {@link Locale}, e.g. the lines of an item lore.
+     * <p>
+     * Translatables of this manager are resolved against the same languages in a single pass,
+     * and arguments used by multiple messages are only rendered once.
+     * All other messages are rendered using the {@link #renderer}.
+     *
+     * @return the rendered messages, in the order of the given messages
+     */
+    public List<Component> renderAll(List<? extends ComponentLike> messages, Locale locale) {
+        LanguageSnapshot snapshot = snapshot(locale);
+        Map<Component, Component> renderedArguments = new HashMap<>();
+        BiFunction<Component, Locale, Component> argumentRenderer = (argument, argumentLocale) ->
+                renderedArguments.computeIfAbsent(argument, unrenderedArgument -> renderer.render(unrenderedArgument, argumentLocale));
+        List<Component> rendered = new ArrayList<>(messages.size());
+
+        for (ComponentLike message : messages) {
+            Component component = message.asComponent();
+            Component renderedComponent = null;
+            // children are rendered by the global translator after translating
+            if (component instanceof TranslatableComponent translatable && translatable.children().isEmpty()) {
+                int keyId = keyId(message, translatable.key());
+                if (keyId != -1) {
+                    renderedComponent = translate(snapshot, keyId, translatable, locale, argumentRenderer);
+                }
+            }
+            rendered.add(renderedComponent != null ? renderedComponent : renderer.render(component, locale));
+        }
 
-        if (component.arguments().isEmpty()) {
-            resultingComponent = MiniMessage.miniMessage().deserialize(literalTranslation);
+        return rendered;
+    }
+
+    /**
+     * Renders the given message to plain text for the given {@link Locale}.
+     * <p>
+     * Translatables of this manager are rendered straight from their compiled translation without building components,
+     * and the plain text of argument-free translatables is cached per locale until the languages are reloaded.
+     * All other messages are rendered using the {@link #renderer} and serialized afterwards.
+     *
+     * @see ComponentTranslatable#asPlain(Locale)
+     */
+    public String renderPlain(ComponentLike message, Locale locale) {
+        Component component = message.asComponent();
+        // children are rendered by the global translator after translating
+        if (component instanceof TranslatableComponent translatable && translatable.children().isEmpty()) {
+            int keyId = keyId(message, translatable.key());
+            if (keyId != -1) {
+                String plainText = translatePlain(snapshot(locale), keyId, translatable, locale);
+                if (plainText != null) return plainText;
+            }
+        }
+        return PlainTextComponentSerializer.plainText().serialize(renderer.render(component, locale));
+    }
+
+    private @Nullable String translatePlain(LanguageSnapshot snapshot, int keyId, TranslatableComponent component, Locale locale) {
+        recordLookup(snapshot, locale, keyId);
+        boolean withoutArguments = component.arguments().isEmpty();
+        if (withoutArguments) {
+            String plainText = snapshot.plainText(locale, keyId);
+            if (plainText != null) return plainText;
+        }
+
+        TranslationTemplate template = snapshot.template(locale, keyId);
+        if (template == null || !template.hasPlainText()) return null;
+
+        String plainText;
+        if (withoutArguments || !template.hasArguments()) {
+            plainText = template.renderPlain(List.of(), locale);
+            snapshot.cachePlainText(locale, keyId, plainText);
         } else {
-            List<Component> translatedArguments = new ArrayList<>(component.arguments().size());
+            List<Object> plainArguments = new ArrayList<>(component.arguments().size());
             for (TranslationArgument argument : component.arguments())
-                translatedArguments.add(GlobalTranslator.render(argument.asComponent(), locale));
-            resultingComponent = MiniMessage.miniMessage().deserialize(literalTranslation,
-                    new ComponentArgumentTag(translatedArguments));
+                plainArguments.add(argument.value() instanceof Component argumentComponent ? renderPlain(argumentComponent, locale) : argument.value());
+            plainText = template.renderPlain(plainArguments, locale);
         }
+        return plainText;
+    }
+
+    private void recordLookup(LanguageSnapshot snapshot, Locale locale, int keyId) {
+        if (!metrics.isEnabled()) return;
+
+        TranslationTemplate template = snapshot.template(locale, keyId);
+        metrics.recordLookup(locale, keyId, template != null && snapshot.explicitTemplate(locale, keyId) == null, template == null);
+    }
+
+    private int keyId(ComponentLike message, String key) {
+        if (message instanceof ComponentTranslatable translatable && keyIndex.matches(translatable.keyId(), key)) {
+            return translatable.keyId();
+        }
+        return keyIndex.id(key);
+    }
+
+    /**
+     * Renders the given message for the given {@link Locale} using the {@link #renderer}.
+     * <p>
+     * Messages consisting of a single translatable of this manager without arguments, children or hover are cached,
+     * unless their translation nests translatables of other managers. The least recently used messages are
+     * approximately evicted when the cache is full.
+     *
+     * @see #renderCacheStats()
+     */
+    public Component render(ComponentLike message, Locale locale) {
+        Component component = message.asComponent();
+        if (!(component instanceof TranslatableComponent translatable) || !isCacheable(translatable)) {
+            return renderer.render(component, locale);
+        }
+
+        LanguageSnapshot snapshot = snapshot(locale);
+        TranslationTemplate template = snapshot.template(locale, keyIndex.id(translatable.key()));
+        // translatables of other managers may change without a reload of this manager
+        if (template == null || !template.hasOnlyNestedKeys(prefix)) return renderer.render(component, locale);
+        return renderCache.get(snapshot, component, locale, renderFunction);
+    }
+
+    /**
+     * Renders the given message for each of the given audiences, rendering it only once per {@link Locale}.
+     * Audiences without a locale use the default locale of this manager.
+     *
+     * @return the audiences grouped by the message rendered for them, e.g. to send each rendered message to its audiences
+     * @see #render(ComponentLike, Locale)
+     */
+    @Unmodifiable
+    public Map<Component, List<Audience>> renderFor(Collection<? extends Audience> audiences, ComponentLike message) {
+        Component component = message.asComponent();
+        Locale fallbackLocale = defaultLocale == null ? Locale.getDefault() : defaultLocale;
+        Map<Locale, List<Audience>> audiencesByLocale = new HashMap<>();
+        for (Audience audience : audiences)
+            audiencesByLocale.computeIfAbsent(audience.getOrDefault(Identity.LOCALE, fallbackLocale), key -> new ArrayList<>())
+                    .add(audience);
+
+        Map<Component, List<Audience>> rendered = new LinkedHashMap<>();
+        audiencesByLocale.forEach((locale, localeAudiences) ->
+                rendered.computeIfAbsent(render(component, locale), key -> new ArrayList<>()).addAll(localeAudiences));
+        return Collections.unmodifiableMap(rendered);
+    }
+
+    /**
+     * Gets the statistics of the cache used by {@link #render(ComponentLike, Locale)}.
+     */
+    public CacheStats renderCacheStats() {
+        return renderCache.stats();
+    }
+
+    // only messages whose rendering depends on nothing but the languages of this manager
+    private boolean isCacheable(TranslatableComponent translatable) {
+        return translatable.arguments().isEmpty()
+                && translatable.children().isEmpty()
+                && translatable.hoverEvent() == null
+                && translatable.key().startsWith(prefix);
+    }
+
+    /**
+     * Translates the given translatable if its key belongs to this manager, rendering its arguments using the {@link #renderer}.
+     */
+    @Nullable Component translateDirect(TranslatableComponent component, Locale locale) {
+        if (!component.key().startsWith(prefix)) return null;
+        int keyId = keyIndex.id(component.key());
+        if (keyId == -1) return null;
+        return translate(snapshot(locale), keyId, component, locale, renderFunction);
+    }
+
+    /**
+     * Gets the current languages, requesting the ones used for the given locale in lazy mode.
+     */
+    private LanguageSnapshot snapshot(Locale locale) {
+        LazyLanguages lazyLanguages = this.lazyLanguages;
+        if (lazyLanguages != null) lazyLanguages.request(locale);
+        return snapshot;
+    }
 
-        for (Map.Entry<TextDecoration, TextDecoration.State> entry : component.decorations().entrySet())
-            if (resultingComponent.decoration(entry.getKey()) == TextDecoration.State.NOT_SET)
-                resultingComponent = resultingComponent.decoration(entry.getKey(), entry.getValue());
-        resultingComponent = resultingComponent.colorIfAbsent(component.color());
+    /**
+     * Translates the given translatable using the given languages.
+     *
+     * @param argumentRenderer the renderer used to render the arguments
+     */
+    private @Nullable Component translate(LanguageSnapshot snapshot, int keyId, TranslatableComponent component, Locale locale,
+                                          BiFunction<Component, Locale, Component> argumentRenderer) {
+        recordLookup(snapshot, locale, keyId);
+        final TranslationTemplate template = snapshot.template(locale, keyId);
+        if (template == null) return null;
 
-        if (component.children().isEmpty()) {
-            return resultingComponent;
+        Component resultingComponent;
+
+        if (component.arguments().isEmpty() || !template.hasArguments()) {
+            resultingComponent = template.render(List.of());
         } else {
-            return resultingComponent.children(
-                    Stream.concat(
-                            resultingComponent.children().stream(),
-                            component.children().stream()
-                    ).toList()
-            );
+            List<ComponentLike> translatedArguments = new ArrayList<>(component.arguments().size());
+            for (TranslationArgument argument : component.arguments()) {
+                // primitive arguments need no rendering and are formatted by the template
+                translatedArguments.add(argument.value() instanceof Component argumentComponent
+                        ? argumentRenderer.apply(argumentComponent, locale) : argument);
+            }
+            resultingComponent = template.render(translatedArguments, locale);
         }
+
+        return mergeStyleAndChildren(resultingComponent, component);
     }
 
-    private @Nullable String translateLiteral(String key, Locale locale) {
-        if (!hasKey(key)) return null;
-        Language language = languages.get(locale);
-        if (language == null) {
-            if (locale == defaultLocale) return null;
-            return translateLiteral(key, defaultLocale);
+    /**
+     * Applies the decorations and color of the translatable which are not set by the translation,
+     * and appends the children of the translatable.
+     */
+    private static Component mergeStyleAndChildren(Component translation, TranslatableComponent component) {
+        Style style = component.style();
+        boolean hasChildren = !component.children().isEmpty();
+        if (style.isEmpty() && !hasChildren) return translation;
+
+        Component result = translation;
+        if (!style.isEmpty()) {
+            Style translationStyle = translation.style();
+            Style mergedStyle = translationStyle.merge(style, Style.Merge.Strategy.IF_ABSENT_ON_TARGET, Style.Merge.colorAndDecorations());
+            if (!mergedStyle.equals(translationStyle)) result = result.style(mergedStyle);
         }
 
-        return language.translate(key);
+        if (hasChildren) {
+            List<Component> children = new ArrayList<>(result.children().size() + component.children().size());
+            children.addAll(result.children());
+            children.addAll(component.children());
+            result = result.children(children);
+        }
+
+        return result;
     }
 
-    private void calcDefaultLocale() {
-        Locale systemLocale = Locale.getDefault();
+    private void validateArguments(LanguageSnapshot snapshot, Set<Locale> locales) {
+        Locale defaultLocale = snapshot.defaultLocale();
 
-        for (Locale loadedLocale : languages.keySet()) {
-            if (!loadedLocale.equals(systemLocale)) continue;
-            defaultLocale = systemLocale;
-            return;
+        for (Locale locale : locales) {
+            if (locale.equals(defaultLocale)) continue;
+            for (int keyId = 0; keyId < keyIndex.size(); keyId++) {
+                TranslationTemplate template = snapshot.explicitTemplate(locale, keyId);
+                TranslationTemplate defaultTemplate = snapshot.explicitTemplate(defaultLocale, keyId);
+                if (template == null || defaultTemplate == null || template.arity() <= defaultTemplate.arity()) continue;
+                logger.log(Level.WARNING, "Translation for language " + locale.toLanguageTag()
+                        + " uses argument index " + (template.arity() - 1) + ", which is out of range for the default language (Key: "
+                        + keyIndex.key(keyId) + ")");
+            }
         }
+    }
 
-        for (Locale loadedLocale : languages.keySet()) {
-            if (!loadedLocale.equals(Locale.US)) continue;
-            defaultLocale = Locale.US;
-            return;
+    // rethrows the cause of a failed future, e.g. an UncheckedIOException, instead of wrapping it in a CompletionException
+    private static void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
         }
+    }
 
-        defaultLocale = languages.keySet().stream().findFirst().orElse(Locale.US);
+    private static Locale calcDefaultLocale(Set<Locale> locales) {
+        Locale systemLocale = Locale.getDefault();
+        if (locales.contains(systemLocale)) return systemLocale;
+        if (locales.contains(Locale.US)) return Locale.US;
+        return locales.stream().findFirst().orElse(Locale.US);
     }
 
+    record LanguageFile(Locale locale, ResourceSource internalSource, @Nullable String internalFileName,
+                                @Nullable LanguageBundle bundle, @Nullable Path overridePath) {}
+
+    /**
+     * The language files found on a load of all languages.
+     *
+     * @param missingCacheHash the hash of the language cache to write after loading, or null if it is used or disabled
+     */
+    private record DiscoveredFiles(List<LanguageFile> languageFiles, @Nullable String missingCacheHash) {}
+
     public Locale defaultLocale() {
         return defaultLocale;
     }
@@ -264,20 +1161,48 @@ public class TranslationManager implements Translator {
      *
      * @param locale the locale to use a default
      */
-    public void defaultLocale(Locale locale) {
-        defaultLocale = locale;
+    public synchronized void defaultLocale(Locale locale) {
+        defaultLocale = Objects.requireNonNull(locale, "locale");
+        if (lazyLanguages != null) lazyLanguages.pin(locale);
+        if (snapshot != LanguageSnapshot.EMPTY) {
+            publish(snapshot.withDefaultLocale(locale));
+        }
     }
 
     /**
-     * Retrieves the map of loaded languages.
+     * Estimates the heap used by the raw translations of the loaded languages.
      */
-    @UnmodifiableView
-    public Map<Locale, Language> getLanguages() {
-        return Collections.unmodifiableMap(languages);
+    public HeapUsage heapUsage() {
+        return HeapUsage.estimate(snapshot, keyIndex);
+    }
+
+    /**
+     * Checks whether translations are validated while loading.
+     *
+     * @see #validation(boolean)
+     */
+    public boolean validation() {
+        return validation;
+    }
+
+    /**
+     * Sets whether translations are validated while loading, which is disabled by default.
+     * <p>
+     * Validation reports invalid argument tags of each translation through the logger. It is part of compiling
+     * the translations, which happens once per language in parallel, so no translation is parsed twice.
+     *
+     * @param validation whether to validate translations
+     */
+    public void validation(boolean validation) {
+        this.validation = validation;
     }
 
-    private void addLanguage(Language language) {
-        languages.put(language.getLocale(), language);
+    /**
+     * Retrieves the map of loaded languages.
+     */
+    @Unmodifiable
+    public Map<Locale, Language> getLanguages() {
+        return snapshot.languages();
     }
 
 }
\ No newline at end of file
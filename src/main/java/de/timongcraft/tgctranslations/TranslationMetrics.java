@@ -0,0 +1,253 @@
+package de.timongcraft.tgctranslations;
+
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Counts the lookups of a {@link TranslationManager} per locale and per key,
+ * and records the time spent parsing translations.
+ * <p>
+ * Metrics are disabled by default and can be toggled at runtime. While disabled, recording costs a single volatile read.
+ * Counters are {@link LongAdder}s, so concurrent lookups do not contend on them.
+ *
+ * @see TranslationManager#metrics()
+ */
+public final class TranslationMetrics implements TranslationMetricsMXBean {
+
+    private static final int PARSE_TIME_BUCKETS = 21;
+
+    private final TranslationKeyIndex keyIndex;
+    private final RenderCache renderCache;
+    private volatile boolean enabled;
+    private final Map<Locale, Counters> localeCounters = new ConcurrentHashMap<>();
+    private volatile Counters[] keyCounters = new Counters[0]; // indexed by key id
+    private volatile LongAdder[] parseTimeBuckets = newParseTimeBuckets();
+
+    TranslationMetrics(TranslationKeyIndex keyIndex, RenderCache renderCache) {
+        this.keyIndex = keyIndex;
+        this.renderCache = renderCache;
+    }
+
+    /**
+     * Gets the exclusive upper limit of the parse time bucket with the given index in microseconds.
+     * The last bucket is unbounded.
+     */
+    public static long parseTimeBucketLimitMicros(int bucket) {
+        return bucket >= PARSE_TIME_BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void recordLookup(Locale locale, int keyId, boolean fallback, boolean miss) {
+        localeCounters(locale).record(fallback, miss);
+        keyCounters(keyId).record(fallback, miss);
+    }
+
+    void recordParse(long nanos) {
+        long micros = nanos / 1000;
+        int bucket = micros == 0 ? 0 : Math.min(Long.SIZE - Long.numberOfLeadingZeros(micros), PARSE_TIME_BUCKETS - 1);
+        parseTimeBuckets[bucket].increment();
+    }
+
+    private Counters localeCounters(Locale locale) {
+        Counters counters = localeCounters.get(locale);
+        return counters != null ? counters : localeCounters.computeIfAbsent(locale, ignored -> new Counters());
+    }
+
+    private Counters keyCounters(int keyId) {
+        Counters[] keyCounters = this.keyCounters;
+        if (keyId < keyCounters.length && keyCounters[keyId] != null) return keyCounters[keyId];
+
+        synchronized (this) {
+            keyCounters = this.keyCounters;
+            if (keyId >= keyCounters.length) {
+                keyCounters = Arrays.copyOf(keyCounters, Math.max(keyId + 1, keyIndex.size()));
+            }
+            if (keyCounters[keyId] == null) {
+                keyCounters[keyId] = new Counters();
+            }
+            this.keyCounters = keyCounters;
+            return keyCounters[keyId];
+        }
+    }
+
+    /**
+     * Takes a snapshot of all metrics.
+     */
+    public Snapshot snapshot() {
+        Map<Locale, Counts> locales = new HashMap<>();
+        localeCounters.forEach((locale, counters) -> locales.put(locale, counters.counts()));
+
+        Map<String, Counts> keys = new HashMap<>();
+        Counters[] keyCounters = this.keyCounters;
+        for (int keyId = 0; keyId < keyCounters.length; keyId++)
+            if (keyCounters[keyId] != null)
+                keys.put(keyIndex.key(keyId), keyCounters[keyId].counts());
+
+        LongAdder[] parseTimeBuckets = this.parseTimeBuckets;
+        long[] parseTimeHistogram = new long[parseTimeBuckets.length];
+        for (int bucket = 0; bucket < parseTimeBuckets.length; bucket++)
+            parseTimeHistogram[bucket] = parseTimeBuckets[bucket].sum();
+
+        return new Snapshot(Map.copyOf(locales), Map.copyOf(keys), parseTimeHistogram, renderCache.stats());
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    @Override
+    public synchronized void reset() {
+        localeCounters.clear();
+        keyCounters = new Counters[0];
+        parseTimeBuckets = newParseTimeBuckets();
+    }
+
+    @Override
+    public long getLookupCount() {
+        return snapshot().total().lookups();
+    }
+
+    @Override
+    public long getFallbackCount() {
+        return snapshot().total().fallbacks();
+    }
+
+    @Override
+    public long getMissCount() {
+        return snapshot().total().misses();
+    }
+
+    @Override
+    public Map<String, Long> getLookupsByLocale() {
+        return byLocale(Counts::lookups);
+    }
+
+    @Override
+    public Map<String, Long> getFallbacksByLocale() {
+        return byLocale(Counts::fallbacks);
+    }
+
+    @Override
+    public Map<String, Long> getMissesByLocale() {
+        return byLocale(Counts::misses);
+    }
+
+    @Override
+    public Map<String, Long> getLookupsByKey() {
+        return byKey(Counts::lookups);
+    }
+
+    @Override
+    public Map<String, Long> getFallbacksByKey() {
+        return byKey(Counts::fallbacks);
+    }
+
+    @Override
+    public Map<String, Long> getMissesByKey() {
+        return byKey(Counts::misses);
+    }
+
+    @Override
+    public long[] getParseTimeHistogram() {
+        return snapshot().parseTimeHistogram();
+    }
+
+    @Override
+    public double getRenderCacheHitRate() {
+        return renderCache.stats().hitRate();
+    }
+
+    @Override
+    public long getRenderCacheEvictions() {
+        return renderCache.stats().evictions();
+    }
+
+    private Map<String, Long> byLocale(ToLongFunction<Counts> count) {
+        Map<String, Long> counts = new HashMap<>();
+        snapshot().locales().forEach((locale, localeCounts) -> counts.put(locale.toLanguageTag(), count.applyAsLong(localeCounts)));
+        return counts;
+    }
+
+    private Map<String, Long> byKey(ToLongFunction<Counts> count) {
+        Map<String, Long> counts = new HashMap<>();
+        snapshot().keys().forEach((key, keyCounts) -> counts.put(key, count.applyAsLong(keyCounts)));
+        return counts;
+    }
+
+    private static LongAdder[] newParseTimeBuckets() {
+        LongAdder[] buckets = new LongAdder[PARSE_TIME_BUCKETS];
+        for (int bucket = 0; bucket < buckets.length; bucket++)
+            buckets[bucket] = new LongAdder();
+        return buckets;
+    }
+
+    /**
+     * Lookup counts of a locale or key.
+     *
+     * @param lookups   the number of lookups of translations of this manager
+     * @param fallbacks the number of lookups served by another language than the requested one
+     * @param misses    the number of lookups without any translation
+     */
+    public record Counts(long lookups, long fallbacks, long misses) {}
+
+    /**
+     * A point-in-time copy of the metrics of a {@link TranslationManager}.
+     *
+     * @param locales            the lookup counts per requested locale
+     * @param keys               the lookup counts per key
+     * @param parseTimeHistogram the number of parsed translations per parse time bucket
+     * @param renderCache        the statistics of the render cache
+     * @see #parseTimeBucketLimitMicros(int)
+     */
+    public record Snapshot(@Unmodifiable Map<Locale, Counts> locales, @Unmodifiable Map<String, Counts> keys,
+                           long[] parseTimeHistogram, CacheStats renderCache) {
+
+        /**
+         * Gets the lookup counts summed over all locales.
+         */
+        public Counts total() {
+            long lookups = 0, fallbacks = 0, misses = 0;
+            for (Counts counts : locales.values()) {
+                lookups += counts.lookups();
+                fallbacks += counts.fallbacks();
+                misses += counts.misses();
+            }
+            return new Counts(lookups, fallbacks, misses);
+        }
+
+    }
+
+    private static final class Counters {
+
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder fallbacks = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private void record(boolean fallback, boolean miss) {
+            lookups.increment();
+            if (fallback) fallbacks.increment();
+            if (miss) misses.increment();
+        }
+
+        private Counts counts() {
+            return new Counts(lookups.sum(), fallbacks.sum(), misses.sum());
+        }
+
+    }
+
+}
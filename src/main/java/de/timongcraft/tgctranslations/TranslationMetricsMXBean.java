@@ -0,0 +1,47 @@
+package de.timongcraft.tgctranslations;
+
+import java.util.Map;
+
+/**
+ * JMX view of the {@link TranslationMetrics} of a {@link TranslationManager}.
+ *
+ * @see TranslationManager#registerMetricsMBean()
+ */
+public interface TranslationMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getLookupCount();
+
+    long getFallbackCount();
+
+    long getMissCount();
+
+    Map<String, Long> getLookupsByLocale();
+
+    Map<String, Long> getFallbacksByLocale();
+
+    Map<String, Long> getMissesByLocale();
+
+    Map<String, Long> getLookupsByKey();
+
+    Map<String, Long> getFallbacksByKey();
+
+    Map<String, Long> getMissesByKey();
+
+    /**
+     * Gets the number of parsed translations per parse time bucket.
+     *
+     * @see TranslationMetrics#parseTimeBucketLimitMicros(int)
+     */
+    long[] getParseTimeHistogram();
+
+    double getRenderCacheHitRate();
+
+    long getRenderCacheEvictions();
+
+    void reset();
+
+}
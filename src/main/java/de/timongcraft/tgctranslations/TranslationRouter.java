@@ -0,0 +1,172 @@
+package de.timongcraft.tgctranslations;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.Translator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link Translator} routing each key straight to the translators registered for its prefix,
+ * so translatables are not offered to every translator in turn.
+ * <p>
+ * The prefix of a translator is the namespace of its {@link Translator#name()} followed by a dot,
+ * see {@link TranslationKeyManager#getPrefix(Key)}. The router is registered in the {@link GlobalTranslator}
+ * while at least one translator is registered with it.
+ */
+public final class TranslationRouter implements Translator {
+
+    private static final TranslationRouter SHARED = new TranslationRouter(Key.key("tgctranslations", "router"));
+    private static final Translator[] NO_TRANSLATORS = new Translator[0];
+
+    private final Key name;
+    private volatile Map<String, Translator[]> routes = Map.of(); // by prefix, only replaced while synchronized
+    private volatile int maxPrefixLength;
+
+    /**
+     * Constructs a new {@code TranslationRouter}.
+     *
+     * @param name the {@link Key} identifying this router
+     */
+    public TranslationRouter(Key name) {
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    /**
+     * Gets the router shared by all {@link TranslationManager}s.
+     */
+    public static TranslationRouter shared() {
+        return SHARED;
+    }
+
+    /**
+     * Registers the given translator for the prefix of its name, registering this router globally if needed.
+     *
+     * @return whether the translator was not registered yet
+     */
+    public synchronized boolean addSource(Translator translator) {
+        Objects.requireNonNull(translator, "translator");
+        String prefix = TranslationKeyManager.getPrefix(translator.name());
+        Translator[] translators = routes.getOrDefault(prefix, NO_TRANSLATORS);
+        if (Arrays.asList(translators).contains(translator)) return false;
+
+        Translator[] newTranslators = Arrays.copyOf(translators, translators.length + 1);
+        newTranslators[translators.length] = translator;
+        Map<String, Translator[]> newRoutes = new HashMap<>(routes);
+        newRoutes.put(prefix, newTranslators);
+        publish(newRoutes);
+        return true;
+    }
+
+    /**
+     * Unregisters the given translator, unregistering this router globally if no translator is left.
+     *
+     * @return whether the translator was registered
+     */
+    public synchronized boolean removeSource(Translator translator) {
+        Objects.requireNonNull(translator, "translator");
+        String prefix = TranslationKeyManager.getPrefix(translator.name());
+        Translator[] translators = routes.get(prefix);
+        if (translators == null || !Arrays.asList(translators).contains(translator)) return false;
+
+        List<Translator> newTranslators = new ArrayList<>(Arrays.asList(translators));
+        newTranslators.remove(translator);
+        Map<String, Translator[]> newRoutes = new HashMap<>(routes);
+        if (newTranslators.isEmpty()) {
+            newRoutes.remove(prefix);
+        } else {
+            newRoutes.put(prefix, newTranslators.toArray(Translator[]::new));
+        }
+        publish(newRoutes);
+        return true;
+    }
+
+    private void publish(Map<String, Translator[]> newRoutes) {
+        boolean wasEmpty = routes.isEmpty();
+        maxPrefixLength = newRoutes.keySet().stream().mapToInt(String::length).max().orElse(0);
+        routes = Map.copyOf(newRoutes);
+
+        if (wasEmpty && !newRoutes.isEmpty()) {
+            GlobalTranslator.translator().addSource(this);
+        } else if (!wasEmpty && newRoutes.isEmpty()) {
+            GlobalTranslator.translator().removeSource(this);
+        }
+    }
+
+    /**
+     * Gets the registered translators.
+     */
+    @Unmodifiable
+    public List<Translator> sources() {
+        List<Translator> sources = new ArrayList<>();
+        for (Translator[] translators : routes.values())
+            sources.addAll(Arrays.asList(translators));
+        return List.copyOf(sources);
+    }
+
+    private Translator[] route(String key) {
+        Map<String, Translator[]> routes = this.routes;
+        int maxPrefixLength = this.maxPrefixLength;
+        // namespaces may contain dots, so every dot may end the prefix
+        for (int dot = key.indexOf('.'); dot != -1 && dot < maxPrefixLength; dot = key.indexOf('.', dot + 1)) {
+            Translator[] translators = routes.get(key.substring(0, dot + 1));
+            if (translators != null) return translators;
+        }
+        return NO_TRANSLATORS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @NotNull Key name() {
+        return name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        for (Translator translator : route(key))
+            if (translator.canTranslate(key, locale)) return true;
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        for (Translator translator : route(key)) {
+            MessageFormat format = translator.translate(key, locale);
+            if (format != null) return format;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public @Nullable Component translate(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        for (Translator translator : route(component.key())) {
+            Component translated = translator.translate(component, locale);
+            if (translated != null) return translated;
+        }
+        return null;
+    }
+
+}
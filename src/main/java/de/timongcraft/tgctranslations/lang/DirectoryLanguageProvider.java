@@ -0,0 +1,137 @@
+package de.timongcraft.tgctranslations.lang;
+
+import com.google.gson.stream.JsonReader;
+import de.timongcraft.tgctranslations.utils.ResourceUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A {@link LanguageProvider} reading json language files from a folder, e.g. one shared by multiple servers.
+ * <p>
+ * The files are named and structured like override files, e.g. {@code en_us.json}. On each request, only the files
+ * whose modification time or size changed are read again, and the version is increased if any translation changed.
+ * Only the changes since the version of the previous request are computed, the changes since any other version are complete.
+ */
+public final class DirectoryLanguageProvider implements LanguageProvider {
+
+    private final Logger logger;
+    private final Path folderPath;
+    private long version = NO_VERSION;
+    private @Nullable Map<Locale, FileState> fileStates; // of the current version, null before the first request
+
+    /**
+     * Constructs a new {@code DirectoryLanguageProvider}.
+     *
+     * @param logger     the logger used to report unknown json entries
+     * @param folderPath the folder containing the language files
+     */
+    public DirectoryLanguageProvider(Logger logger, Path folderPath) {
+        this.logger = Objects.requireNonNull(logger, "logger");
+        this.folderPath = Objects.requireNonNull(folderPath, "folderPath");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IOException if the folder cannot be listed or a changed file cannot be parsed, e.g. while it is being written
+     */
+    @Override
+    public synchronized LanguageChanges changesSince(long version) throws IOException {
+        Map<Locale, FileState> previousFiles = fileStates;
+        Map<Locale, FileState> currentFiles = readFileStates(previousFiles == null ? Map.of() : previousFiles);
+        boolean changedNow = previousFiles == null || !currentFiles.equals(previousFiles);
+        if (changedNow) {
+            this.version++;
+            fileStates = currentFiles;
+        }
+
+        if (version == this.version) return LanguageChanges.none(version);
+        if (!changedNow || previousFiles == null || version != this.version - 1) {
+            Map<Locale, Map<String, String>> translations = new HashMap<>();
+            currentFiles.forEach((locale, fileState) -> translations.put(locale, fileState.translations()));
+            return new LanguageChanges(this.version, true, translations, Map.of());
+        }
+
+        Map<Locale, Map<String, String>> changed = new HashMap<>();
+        Map<Locale, Set<String>> removed = new HashMap<>();
+        Set<Locale> locales = new HashSet<>(previousFiles.keySet());
+        locales.addAll(currentFiles.keySet());
+        for (Locale locale : locales) {
+            Map<String, String> previousTranslations = translations(previousFiles.get(locale));
+            Map<String, String> currentTranslations = translations(currentFiles.get(locale));
+            if (previousTranslations == currentTranslations) continue;
+
+            Map<String, String> changedTranslations = new HashMap<>();
+            currentTranslations.forEach((rawKey, translation) -> {
+                if (!translation.equals(previousTranslations.get(rawKey))) changedTranslations.put(rawKey, translation);
+            });
+            Set<String> removedKeys = new HashSet<>(previousTranslations.keySet());
+            removedKeys.removeAll(currentTranslations.keySet());
+
+            if (!changedTranslations.isEmpty()) changed.put(locale, Map.copyOf(changedTranslations));
+            if (!removedKeys.isEmpty()) removed.put(locale, Set.copyOf(removedKeys));
+        }
+        return new LanguageChanges(this.version, false, changed, removed);
+    }
+
+    private Map<Locale, FileState> readFileStates(Map<Locale, FileState> previousFiles) throws IOException {
+        if (!Files.isDirectory(folderPath)) return Map.of();
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(folderPath)) {
+            paths = files.filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .filter(Files::isRegularFile)
+                    .toList();
+        }
+
+        Map<Locale, FileState> fileStates = new HashMap<>();
+        for (Path path : paths) {
+            Locale locale = ResourceUtils.getLocale(path.getFileName().toString());
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            FileState fileState = previousFiles.get(locale);
+            if (fileState == null || !fileState.lastModified().equals(attributes.lastModifiedTime())
+                    || fileState.size() != attributes.size()) {
+                fileState = new FileState(attributes.lastModifiedTime(), attributes.size(), readTranslations(path, locale));
+            }
+            fileStates.put(locale, fileState);
+        }
+        return fileStates;
+    }
+
+    private Map<String, String> readTranslations(Path path, Locale locale) throws IOException {
+        Map<String, String> translations = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            TranslationReader.readObject(reader, "", translations::put, rawKey -> logger.log(Level.WARNING,
+                    "Provided translations for language " + locale.toLanguageTag() + " contain unknown json entry (Key: " + rawKey + ")"));
+            reader.endObject();
+        } catch (IllegalStateException e) {
+            throw new IOException("Invalid language file " + path, e);
+        }
+        return Map.copyOf(translations);
+    }
+
+    private static Map<String, String> translations(@Nullable FileState fileState) {
+        return fileState == null ? Map.of() : fileState.translations();
+    }
+
+    private record FileState(FileTime lastModified, long size, Map<String, String> translations) {}
+
+}
@@ -1,6 +1,10 @@
 package de.timongcraft.tgctranslations.lang;
 
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * Represents a language with methods to get the {@link Locale} and translate translation keys.
@@ -17,11 +21,24 @@ public interface Language {
      */
     boolean hasKey(String key);
 
+    /**
+     * Gets all translation keys contained in this language.
+     * <p>
+     * Note: The default implementation returns no keys, so languages not overriding it
+     * provide no translations to a {@link de.timongcraft.tgctranslations.TranslationManager}.
+     */
+    @Unmodifiable
+    default Set<String> getKeys() {
+        return Set.of();
+    }
+
     /**
      * Translates the given translation key to its corresponding value.
      * <p>
      * Note: The value may use {@link net.kyori.adventure.text.minimessage.MiniMessage} formatting.
+     *
+     * @return the value, or null if this language contains no translation for the key
      */
-    String translate(String translationKey);
+    @Nullable String translate(String translationKey);
 
 }
\ No newline at end of file
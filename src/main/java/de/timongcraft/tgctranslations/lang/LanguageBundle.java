@@ -0,0 +1,240 @@
+package de.timongcraft.tgctranslations.lang;
+
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A precompiled binary bundle of the translations of multiple languages, which can be loaded without parsing json.
+ * <p>
+ * Layout (all integers are big-endian):
+ * <pre>
+ * header   magic, version, string count, key count, locale count
+ * strings  offset of each string
+ * keys     string id of each key
+ * locales  string id of the language tag, entries offset, entry count
+ * entries  key index, string id of the value (per locale)
+ * data     length and UTF-8 bytes of each string
+ * </pre>
+ * Strings are interned, so keys and values shared between languages are only stored once.
+ *
+ * @see de.timongcraft.tgctranslations.utils.LanguageBundleGenerator
+ */
+public final class LanguageBundle {
+
+    private static final int MAGIC = 0x5447434C; // TGCL
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final String[] keys;
+    private final Map<Locale, Integer> localeOffsets = new LinkedHashMap<>(); // locale -> offset of its locale record
+
+    private LanguageBundle(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) throw new IOException("Not a language bundle");
+        if (buffer.getInt(4) != VERSION) throw new IOException("Unsupported language bundle version " + buffer.getInt(4));
+
+        int stringCount = buffer.getInt(8);
+        int keyCount = buffer.getInt(12);
+        int localeCount = buffer.getInt(16);
+        if (stringCount < 0 || keyCount < 0 || localeCount < 0) throw corrupt();
+        long keysOffset = HEADER_SIZE + (long) stringCount * Integer.BYTES;
+        long localesOffset = keysOffset + (long) keyCount * Integer.BYTES;
+        checkRange(localesOffset, (long) localeCount * 3 * Integer.BYTES);
+
+        // checked once, so reading translations later cannot fail
+        for (int i = 0; i < stringCount; i++) {
+            int offset = buffer.getInt(HEADER_SIZE + i * Integer.BYTES);
+            checkRange(offset, Integer.BYTES);
+            int length = buffer.getInt(offset);
+            if (length < 0) throw corrupt();
+            checkRange((long) offset + Integer.BYTES, length);
+        }
+
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++)
+            keys[i] = string(checkStringId(buffer.getInt((int) keysOffset + i * Integer.BYTES), stringCount));
+
+        for (int i = 0; i < localeCount; i++) {
+            int localeOffset = (int) localesOffset + i * 3 * Integer.BYTES;
+            int entriesOffset = buffer.getInt(localeOffset + Integer.BYTES);
+            int entryCount = buffer.getInt(localeOffset + 2 * Integer.BYTES);
+            if (entryCount < 0) throw corrupt();
+            checkRange(entriesOffset, (long) entryCount * 2 * Integer.BYTES);
+            for (int j = 0; j < entryCount; j++) {
+                int entryOffset = entriesOffset + j * 2 * Integer.BYTES;
+                int keyIndex = buffer.getInt(entryOffset);
+                if (keyIndex < 0 || keyIndex >= keyCount) throw corrupt();
+                checkStringId(buffer.getInt(entryOffset + Integer.BYTES), stringCount);
+            }
+            localeOffsets.put(Locale.forLanguageTag(string(checkStringId(buffer.getInt(localeOffset), stringCount))), localeOffset);
+        }
+    }
+
+    private void checkRange(long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) throw corrupt();
+    }
+
+    private static int checkStringId(int stringId, int stringCount) throws IOException {
+        if (stringId < 0 || stringId >= stringCount) throw corrupt();
+        return stringId;
+    }
+
+    private static IOException corrupt() {
+        return new IOException("Corrupt language bundle");
+    }
+
+    /**
+     * Maps the bundle file at the given path into memory.
+     */
+    public static LanguageBundle map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LanguageBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a bundle from the given stream, for example a resource inside a jar file, which cannot be mapped.
+     */
+    public static LanguageBundle read(InputStream stream) throws IOException {
+        try (stream) {
+            byte[] bytes = stream.readAllBytes();
+            return new LanguageBundle(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip());
+        }
+    }
+
+    /**
+     * Gets the locales of all languages contained in this bundle.
+     */
+    @Unmodifiable
+    public Set<Locale> getLocales() {
+        return Collections.unmodifiableSet(localeOffsets.keySet());
+    }
+
+    /**
+     * Passes each translation of the given locale as raw key and value to the given consumer.
+     */
+    public void forEachTranslation(Locale locale, BiConsumer<String, String> consumer) {
+        Integer localeOffset = localeOffsets.get(locale);
+        if (localeOffset == null) return;
+
+        int entriesOffset = buffer.getInt(localeOffset + Integer.BYTES);
+        int entryCount = buffer.getInt(localeOffset + 2 * Integer.BYTES);
+        for (int i = 0; i < entryCount; i++) {
+            int entryOffset = entriesOffset + i * 2 * Integer.BYTES;
+            consumer.accept(keys[buffer.getInt(entryOffset)], string(buffer.getInt(entryOffset + Integer.BYTES)));
+        }
+    }
+
+    /**
+     * Passes the raw content of this bundle to the given digest, e.g. to detect changed bundles.
+     */
+    public void digest(MessageDigest digest) {
+        digest.update(buffer.duplicate().clear());
+    }
+
+    private String string(int stringId) {
+        int offset = buffer.getInt(HEADER_SIZE + stringId * Integer.BYTES);
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a bundle of the given translations.
+     *
+     * @param translations the raw keys and values of each language by their locale
+     * @param stream       the stream to write to
+     */
+    public static void write(Map<Locale, Map<String, String>> translations, OutputStream stream) throws IOException {
+        Objects.requireNonNull(translations, "translations");
+
+        List<byte[]> strings = new ArrayList<>();
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<Integer> keyStringIds = new ArrayList<>();
+        Map<String, Integer> keyIndices = new HashMap<>();
+        int entryCount = 0;
+
+        for (Map.Entry<Locale, Map<String, String>> languageEntry : translations.entrySet()) {
+            intern(languageEntry.getKey().toLanguageTag(), strings, stringIds);
+            for (Map.Entry<String, String> entry : languageEntry.getValue().entrySet()) {
+                keyIndices.computeIfAbsent(entry.getKey(), key -> {
+                    keyStringIds.add(intern(key, strings, stringIds));
+                    return keyStringIds.size() - 1;
+                });
+                intern(entry.getValue(), strings, stringIds);
+                entryCount++;
+            }
+        }
+
+        int entriesOffset = HEADER_SIZE + (strings.size() + keyStringIds.size() + translations.size() * 3) * Integer.BYTES;
+        int dataOffset = entriesOffset + entryCount * 2 * Integer.BYTES;
+
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(strings.size());
+        out.writeInt(keyStringIds.size());
+        out.writeInt(translations.size());
+
+        int stringOffset = dataOffset;
+        for (byte[] string : strings) {
+            out.writeInt(stringOffset);
+            stringOffset += Integer.BYTES + string.length;
+        }
+
+        for (int keyStringId : keyStringIds)
+            out.writeInt(keyStringId);
+
+        int localeEntriesOffset = entriesOffset;
+        for (Map.Entry<Locale, Map<String, String>> languageEntry : translations.entrySet()) {
+            out.writeInt(stringIds.get(languageEntry.getKey().toLanguageTag()));
+            out.writeInt(localeEntriesOffset);
+            out.writeInt(languageEntry.getValue().size());
+            localeEntriesOffset += languageEntry.getValue().size() * 2 * Integer.BYTES;
+        }
+
+        for (Map<String, String> languageTranslations : translations.values()) {
+            for (Map.Entry<String, String> entry : languageTranslations.entrySet()) {
+                out.writeInt(keyIndices.get(entry.getKey()));
+                out.writeInt(stringIds.get(entry.getValue()));
+            }
+        }
+
+        for (byte[] string : strings) {
+            out.writeInt(string.length);
+            out.write(string);
+        }
+
+        out.flush();
+    }
+
+    private static int intern(String string, List<byte[]> strings, Map<String, Integer> stringIds) {
+        return stringIds.computeIfAbsent(string, ignored -> {
+            strings.add(string.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+}
@@ -0,0 +1,38 @@
+package de.timongcraft.tgctranslations.lang;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The translations changed between two versions of a {@link LanguageProvider}.
+ *
+ * @param version  the version of the translations after applying these changes
+ * @param complete whether the changed translations contain all translations, replacing the previously applied ones
+ * @param changed  the added or changed translations by their raw key, by locale
+ * @param removed  the raw keys of the removed translations, by locale
+ */
+public record LanguageChanges(long version, boolean complete, Map<Locale, Map<String, String>> changed,
+                              Map<Locale, Set<String>> removed) {
+
+    public LanguageChanges {
+        changed = Map.copyOf(Objects.requireNonNull(changed, "changed"));
+        removed = Map.copyOf(Objects.requireNonNull(removed, "removed"));
+    }
+
+    /**
+     * Creates changes without any changed translations.
+     */
+    public static LanguageChanges none(long version) {
+        return new LanguageChanges(version, false, Map.of(), Map.of());
+    }
+
+    /**
+     * Checks whether no translation changed.
+     */
+    public boolean isEmpty() {
+        return !complete && changed.isEmpty() && removed.isEmpty();
+    }
+
+}
@@ -0,0 +1,33 @@
+package de.timongcraft.tgctranslations.lang;
+
+import java.io.IOException;
+
+/**
+ * Provides versioned translations from a source shared between multiple servers, which are applied on top of
+ * the built-in definitions and overrides of a {@link de.timongcraft.tgctranslations.TranslationManager}.
+ * <p>
+ * Providers report the changes since the version last applied by the manager,
+ * so only the changed translations have to be compiled again.
+ *
+ * @see DirectoryLanguageProvider
+ */
+public interface LanguageProvider {
+
+    /**
+     * The version before any translations were applied.
+     */
+    long NO_VERSION = 0;
+
+    /**
+     * Gets the translations changed since the given version.
+     * <p>
+     * If the changes since the given version are unknown, e.g. for {@link #NO_VERSION},
+     * the returned changes are {@link LanguageChanges#complete() complete}.
+     *
+     * @param version the version of the last applied changes
+     * @return the changes, with the version of the translations they lead to
+     * @throws IOException if the translations cannot be read from the source
+     */
+    LanguageChanges changesSince(long version) throws IOException;
+
+}
@@ -1,84 +1,130 @@
 package de.timongcraft.tgctranslations.lang;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import de.timongcraft.tgctranslations.TranslationInterner;
+import de.timongcraft.tgctranslations.TranslationKeyIndex;
 import de.timongcraft.tgctranslations.TranslationKeyManager;
+import de.timongcraft.tgctranslations.resolver.TranslationChoice;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Implementation of the {@link Language} interface using a stream for base translation
+ * Implementation of the {@link Language} interface using a stream or a {@link LanguageBundle} for base translation
  */
 @ApiStatus.Internal
 public class StreamBasedLanguage implements Language {
 
     private final Locale locale;
-    private final Map<String, String> translations = new HashMap<>();
+    private final TranslationKeyIndex keyIndex;
+    private final String[] translations; // indexed by key id
 
     /**
      * Constructs a new {@link StreamBasedLanguage}.
      *
      * @param logger       the logger used to report issues during loading
      * @param keyManager   the translation key manager used to validate keys
+     * @param keyIndex     the index assigning ids to the translation keys
+     * @param interner     the interner sharing equal translations between languages
      * @param prefix       the prefix for the translation keys
      * @param locale       the locale of this language
      * @param stream       the optional stream of the internal language definition
      * @param overridePath the optional path of the override language file
      */
-    public StreamBasedLanguage(Logger logger, TranslationKeyManager keyManager, String prefix,
+    public StreamBasedLanguage(Logger logger, TranslationKeyManager keyManager, TranslationKeyIndex keyIndex,
+                               TranslationInterner interner, String prefix,
                                Locale locale, @Nullable InputStream stream,
                                @Nullable Path overridePath) {
+        this(logger, keyManager, keyIndex, interner, prefix, locale, stream, null, overridePath);
+    }
+
+    /**
+     * Constructs a new {@link StreamBasedLanguage} using a {@link LanguageBundle} for base translation.
+     *
+     * @param logger       the logger used to report issues during loading
+     * @param keyManager   the translation key manager used to validate keys
+     * @param keyIndex     the index assigning ids to the translation keys
+     * @param interner     the interner sharing equal translations between languages
+     * @param prefix       the prefix for the translation keys
+     * @param locale       the locale of this language
+     * @param bundle       the bundle containing the internal language definition
+     * @param overridePath the optional path of the override language file
+     */
+    public StreamBasedLanguage(Logger logger, TranslationKeyManager keyManager, TranslationKeyIndex keyIndex,
+                               TranslationInterner interner, String prefix,
+                               Locale locale, LanguageBundle bundle,
+                               @Nullable Path overridePath) {
+        this(logger, keyManager, keyIndex, interner, prefix, locale, null, bundle, overridePath);
+    }
+
+    private StreamBasedLanguage(Logger logger, TranslationKeyManager keyManager, TranslationKeyIndex keyIndex,
+                                TranslationInterner interner, String prefix,
+                                Locale locale, @Nullable InputStream stream, @Nullable LanguageBundle bundle,
+                                @Nullable Path overridePath) {
         this.locale = locale;
+        this.keyIndex = keyIndex;
+        TranslationLoader loader = new TranslationLoader(logger, keyManager, interner, prefix);
 
         if (stream != null) {
-            loadTranslations(stream, Source.INTERNAL, prefix, logger, keyManager);
+            loader.load(stream, Source.INTERNAL);
+        }
+
+        if (bundle != null) {
+            bundle.forEachTranslation(locale, (rawKey, translation) -> loader.putTranslation(rawKey, translation, Source.INTERNAL));
         }
 
         if (overridePath != null && Files.exists(overridePath)) {
             try {
-                loadTranslations(new FileInputStream(overridePath.toFile()), Source.USER_OVERRIDES, prefix, logger, keyManager);
-            } catch (FileNotFoundException e) {
+                loader.load(Files.newInputStream(overridePath), Source.USER_OVERRIDES);
+            } catch (IOException e) {
                 logger.log(Level.WARNING, Source.USER_OVERRIDES.logName + " for language " + locale.toLanguageTag()
-                        + " specified but not existent");
+                        + " specified but not readable", e);
             }
         }
+
+        this.translations = loader.translations;
     }
 
-    private void loadTranslations(InputStream stream, Source source, String prefix, Logger logger, TranslationKeyManager keyManager) {
-        try (InputStreamReader reader = new InputStreamReader(stream)) {
-            for (Map.Entry<String, JsonElement> entry : JsonParser.parseReader(reader).getAsJsonObject().entrySet()) {
-                if (entry.getValue() instanceof JsonPrimitive primitive && primitive.isString()) {
-                    if (!keyManager.hasKey(prefix + entry.getKey())) {
-                        logger.log(Level.WARNING, source.logName + " for language " + locale.toLanguageTag()
-                                + " contain unknown translation (Key: " + entry.getKey() + ")");
-                        continue;
-                    }
-
-                    translations.put(prefix + entry.getKey(), primitive.getAsString());
-                } else {
-                    logger.log(Level.WARNING, source.logName + " for language " + locale.toLanguageTag()
-                            + " contain unknown json entry (Key: " + entry.getKey() + ")");
-                }
-            }
-        } catch (IOException | JsonSyntaxException e) {
-            logger.log(Level.WARNING, source.logName + " for language " + locale.toLanguageTag()
-                    + " could not be loaded", e);
-        }
+    private StreamBasedLanguage(Locale locale, TranslationKeyIndex keyIndex, String[] translations) {
+        this.locale = locale;
+        this.keyIndex = keyIndex;
+        this.translations = translations;
+    }
+
+    /**
+     * Creates a copy of this language with the given translations added or replaced,
+     * e.g. the ones of a {@link LanguageProvider}. This language is not modified.
+     *
+     * @param logger       the logger used to report unknown translation keys
+     * @param keyManager   the translation key manager used to validate keys
+     * @param interner     the interner sharing equal translations between languages
+     * @param prefix       the prefix for the translation keys
+     * @param translations the translations by their raw key
+     */
+    public StreamBasedLanguage withTranslations(Logger logger, TranslationKeyManager keyManager, TranslationInterner interner,
+                                                String prefix, Map<String, String> translations) {
+        TranslationLoader loader = new TranslationLoader(logger, keyManager, interner, prefix);
+        loader.translations = Arrays.copyOf(this.translations, Math.max(this.translations.length, keyIndex.size()));
+        translations.forEach((rawKey, translation) -> loader.putTranslation(rawKey, translation, Source.PROVIDER));
+        return new StreamBasedLanguage(locale, keyIndex, loader.translations);
     }
 
     /**
@@ -94,21 +140,115 @@ public class StreamBasedLanguage implements Language {
      */
     @Override
     public boolean hasKey(String key) {
-        return translations.containsKey(key);
+        return rawTranslation(keyIndex.id(key)) != null;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    public @Unmodifiable Set<String> getKeys() {
+        Set<String> keys = new HashSet<>();
+        for (int keyId = 0; keyId < translations.length; keyId++)
+            if (translations[keyId] != null)
+                keys.add(keyIndex.key(keyId));
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Note: Plural and select translations are translated to their 'other' form.
+     */
+    @Override
     public @Nullable String translate(String key) {
-        return translations.get(key);
+        return translate(keyIndex.id(key));
+    }
+
+    /**
+     * Translates the translation key with the given id.
+     * <p>
+     * Note: Plural and select translations are translated to their 'other' form.
+     *
+     * @see TranslationKeyIndex
+     */
+    public @Nullable String translate(int keyId) {
+        String translation = rawTranslation(keyId);
+        if (translation == null || !TranslationChoice.isEncoded(translation)) return translation;
+        String otherForm = TranslationChoice.otherForm(translation);
+        return otherForm != null ? otherForm : translation;
+    }
+
+    /**
+     * Gets the translation of the translation key with the given id as stored,
+     * with plural and select translations encoded by {@link TranslationChoice#encode(boolean, int, Map)}.
+     *
+     * @see #translate(int)
+     */
+    public @Nullable String rawTranslation(int keyId) {
+        return keyId >= 0 && keyId < translations.length ? translations[keyId] : null;
+    }
+
+    /**
+     * Streams translations from json into the translation array using the {@link TranslationReader}.
+     */
+    private final class TranslationLoader {
+
+        private final Logger logger;
+        private final TranslationKeyManager keyManager;
+        private final TranslationInterner interner;
+        private final String prefix;
+        private String[] translations = new String[keyIndex.size()];
+
+        private TranslationLoader(Logger logger, TranslationKeyManager keyManager, TranslationInterner interner, String prefix) {
+            this.logger = logger;
+            this.keyManager = keyManager;
+            this.interner = interner;
+            this.prefix = prefix;
+        }
+
+        // applied only after the whole file was read, so a malformed file changes no translations
+        private void load(InputStream stream, Source source) {
+            Map<String, String> fileTranslations = new LinkedHashMap<>();
+            List<String> unknownEntries = new ArrayList<>();
+            try (JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                reader.beginObject();
+                TranslationReader.readObject(reader, "", fileTranslations::put, unknownEntries::add);
+                reader.endObject();
+            } catch (IOException | IllegalStateException e) {
+                logger.log(Level.WARNING, source.logName + " for language " + locale.toLanguageTag()
+                        + " could not be loaded", e);
+                return;
+            }
+
+            for (String rawKey : unknownEntries)
+                logger.log(Level.WARNING, source.logName + " for language " + locale.toLanguageTag()
+                        + " contain unknown json entry (Key: " + rawKey + ")");
+            fileTranslations.forEach((rawKey, translation) -> putTranslation(rawKey, translation, source));
+        }
+
+        private void putTranslation(String rawKey, String translation, Source source) {
+            String key = prefix + rawKey;
+            if (!keyManager.hasKey(key)) {
+                logger.log(Level.WARNING, source.logName + " for language " + locale.toLanguageTag()
+                        + " contain unknown translation (Key: " + rawKey + ")");
+                return;
+            }
+
+            int keyId = keyIndex.assign(key);
+            if (keyId >= translations.length) {
+                translations = Arrays.copyOf(translations, Math.max(keyId + 1, keyIndex.size()));
+            }
+            translations[keyId] = interner.intern(translation);
+        }
+
     }
 
     private enum Source {
 
         INTERNAL("Built-in definition"),
-        USER_OVERRIDES("Overrides");
+        USER_OVERRIDES("Overrides"),
+        PROVIDER("Provided translations");
 
         private final String logName;
 
@@ -0,0 +1,126 @@
+package de.timongcraft.tgctranslations.lang;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.timongcraft.tgctranslations.resolver.ComponentArgumentTag;
+import de.timongcraft.tgctranslations.resolver.TranslationChoice;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Reads translations from json language files without building a json tree.
+ * <p>
+ * Nested objects are flattened into dotted keys, except plural and select objects, which are encoded as a single
+ * translation using {@link TranslationChoice#encode(boolean, int, Map)}. An object is a plural object if it has an entry
+ * {@code "$plural"} with the index of the numeric argument, and its other entries are plural categories
+ * ({@code zero}, {@code one}, {@code two}, {@code few}, {@code many}, {@code other}) or exact values (e.g. {@code =0}).
+ * An object is a select object if it has an entry {@code "$select"} with the index of the argument.
+ * Both require an {@code other} form. Objects without such an entry are always nested keys.
+ */
+@ApiStatus.Internal
+public final class TranslationReader {
+
+    private static final String PLURAL_KEY = "$plural";
+    private static final String SELECT_KEY = "$select";
+    private static final String OTHER_FORM = "other";
+
+    /**
+     * Reads the entries of the current json object.
+     *
+     * @param reader              the reader positioned inside the object
+     * @param keyPath             the raw key path of the object, e.g. 'nested.' or an empty string
+     * @param translationConsumer the consumer receiving the raw key and value of each translation
+     * @param unknownEntryHandler the handler receiving the raw key of each entry which is not a translation
+     */
+    public static void readObject(JsonReader reader, String keyPath, BiConsumer<String, String> translationConsumer,
+                                  Consumer<String> unknownEntryHandler) throws IOException {
+        while (reader.hasNext())
+            readValue(reader, keyPath + reader.nextName(), translationConsumer, unknownEntryHandler);
+    }
+
+    private static void readValue(JsonReader reader, String rawKey, BiConsumer<String, String> translationConsumer,
+                                  Consumer<String> unknownEntryHandler) throws IOException {
+        switch (reader.peek()) {
+            case STRING -> translationConsumer.accept(rawKey, reader.nextString());
+            case BEGIN_OBJECT -> readNestedObject(reader, rawKey, translationConsumer, unknownEntryHandler);
+            default -> {
+                reader.skipValue();
+                unknownEntryHandler.accept(rawKey);
+            }
+        }
+    }
+
+    // the marker may be any entry, so the entries are only passed on once the whole object is read
+    private static void readNestedObject(JsonReader reader, String rawKey, BiConsumer<String, String> translationConsumer,
+                                         Consumer<String> unknownEntryHandler) throws IOException {
+        String marker = null;
+        int index = -1;
+        Map<String, String> strings = new LinkedHashMap<>(); // direct string entries by their name
+        List<String> nestedNames = new ArrayList<>(); // names of all other direct entries
+        Map<String, String> nestedTranslations = new LinkedHashMap<>();
+        List<String> nestedUnknownEntries = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (marker == null && (name.equals(PLURAL_KEY) || name.equals(SELECT_KEY))) {
+                marker = name;
+                index = readIndex(reader);
+            } else if (reader.peek() == JsonToken.STRING) {
+                strings.put(name, reader.nextString());
+            } else {
+                nestedNames.add(name);
+                readValue(reader, rawKey + "." + name, nestedTranslations::put, nestedUnknownEntries::add);
+            }
+        }
+        reader.endObject();
+
+        if (marker == null) {
+            strings.forEach((name, value) -> translationConsumer.accept(rawKey + "." + name, value));
+            nestedTranslations.forEach(translationConsumer);
+            nestedUnknownEntries.forEach(unknownEntryHandler);
+            return;
+        }
+
+        boolean plural = marker.equals(PLURAL_KEY);
+        Map<String, String> forms = new LinkedHashMap<>();
+        strings.forEach((name, value) -> {
+            if (!plural || TranslationChoice.isPluralSelector(name)) {
+                forms.put(name, value);
+            } else {
+                unknownEntryHandler.accept(rawKey + "." + name);
+            }
+        });
+        for (String nestedName : nestedNames)
+            unknownEntryHandler.accept(rawKey + "." + nestedName);
+
+        if (index < 0 || index > ComponentArgumentTag.MAX_INDEX || !forms.containsKey(OTHER_FORM)) {
+            unknownEntryHandler.accept(rawKey);
+            return;
+        }
+        translationConsumer.accept(rawKey, TranslationChoice.encode(plural, index, forms));
+    }
+
+    // -1 if invalid
+    private static int readIndex(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            reader.skipValue();
+            return -1;
+        }
+        try {
+            return Integer.parseInt(reader.nextString());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private TranslationReader() {}
+
+}
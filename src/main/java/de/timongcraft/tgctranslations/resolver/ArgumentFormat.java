@@ -0,0 +1,147 @@
+package de.timongcraft.tgctranslations.resolver;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The format of a typed argument tag, e.g. '&lt;arg:0:number:#,##0&gt;', which formats primitive arguments
+ * using a formatter cached per locale. Number formats are not thread-safe, so each call formats using a clone of the cached one.
+ * <p>
+ * Supported types:
+ * <ul>
+ *     <li>{@code number} with an optional {@link DecimalFormat} pattern or the style {@code integer} or {@code percent}</li>
+ *     <li>{@code date}, {@code time} and {@code datetime} with an optional {@link DateTimeFormatter} pattern
+ *     or the style {@code short}, {@code medium}, {@code long} or {@code full}, formatting epoch milliseconds in the system time zone</li>
+ * </ul>
+ * Arguments of other types are inserted unformatted.
+ */
+@ApiStatus.Internal
+public final class ArgumentFormat {
+
+    private static final Map<String, ArgumentFormat> FORMATS = new ConcurrentHashMap<>(); // by spec
+
+    private final String spec;
+    private final Type type;
+    private final @Nullable String pattern;
+    private final Map<Locale, Object> formatters = new ConcurrentHashMap<>(); // NumberFormat prototype, or DateTimeFormatter
+
+    private ArgumentFormat(String spec, Type type, @Nullable String pattern) {
+        this.spec = spec;
+        this.type = type;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Gets the format of the given spec, which is the type optionally followed by a colon and the pattern.
+     *
+     * @throws IllegalArgumentException if the type is unknown or the pattern is invalid
+     */
+    public static ArgumentFormat of(String spec) {
+        ArgumentFormat format = FORMATS.get(spec);
+        if (format != null) return format;
+
+        int separator = spec.indexOf(':');
+        String typeName = separator == -1 ? spec : spec.substring(0, separator);
+        String pattern = separator == -1 ? null : spec.substring(separator + 1);
+        Type type = switch (typeName) {
+            case "number" -> Type.NUMBER;
+            case "date" -> Type.DATE;
+            case "time" -> Type.TIME;
+            case "datetime" -> Type.DATETIME;
+            default -> throw new IllegalArgumentException("Unknown argument format " + typeName);
+        };
+
+        ArgumentFormat newFormat = new ArgumentFormat(spec, type, pattern);
+        newFormat.formatter(Locale.ROOT); // validates the pattern
+        return FORMATS.computeIfAbsent(spec, ignored -> newFormat);
+    }
+
+    /**
+     * Gets the type optionally followed by a colon and the pattern of this format.
+     */
+    public String spec() {
+        return spec;
+    }
+
+    /**
+     * Formats the given argument value for the given locale.
+     *
+     * @param value the value of a {@link net.kyori.adventure.text.TranslationArgument}, e.g. a {@link Number}
+     */
+    public String format(Object value, Locale locale) {
+        if (!(value instanceof Number number)) return String.valueOf(value);
+
+        Object formatter = formatter(locale);
+        if (formatter instanceof NumberFormat numberFormat) {
+            // cloning is cheaper than contending for a shared format, and holds no state per thread
+            return ((NumberFormat) numberFormat.clone()).format(number);
+        }
+        try {
+            return ((DateTimeFormatter) formatter).format(Instant.ofEpochMilli(number.longValue()));
+        } catch (DateTimeException e) {
+            return String.valueOf(value);
+        }
+    }
+
+    private Object formatter(Locale locale) {
+        Object formatter = formatters.get(locale);
+        if (formatter == null) {
+            formatter = formatters.computeIfAbsent(locale, this::createFormatter);
+        }
+        return formatter;
+    }
+
+    private Object createFormatter(Locale locale) {
+        if (type == Type.NUMBER) {
+            return pattern == null ? NumberFormat.getNumberInstance(locale) : switch (pattern) {
+                case "integer" -> NumberFormat.getIntegerInstance(locale);
+                case "percent" -> NumberFormat.getPercentInstance(locale);
+                default -> new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+            };
+        }
+
+        FormatStyle style = pattern == null ? FormatStyle.MEDIUM : switch (pattern) {
+            case "short" -> FormatStyle.SHORT;
+            case "medium" -> FormatStyle.MEDIUM;
+            case "long" -> FormatStyle.LONG;
+            case "full" -> FormatStyle.FULL;
+            default -> null;
+        };
+        DateTimeFormatter formatter;
+        if (style == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern, locale);
+        } else {
+            formatter = switch (type) {
+                case DATE -> DateTimeFormatter.ofLocalizedDate(style);
+                case TIME -> DateTimeFormatter.ofLocalizedTime(style);
+                default -> DateTimeFormatter.ofLocalizedDateTime(style);
+            };
+        }
+        return formatter.withLocale(locale).withZone(ZoneId.systemDefault());
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private enum Type {
+        NUMBER,
+        DATE,
+        TIME,
+        DATETIME
+    }
+
+}
@@ -1,6 +1,9 @@
 package de.timongcraft.tgctranslations.resolver;
 
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.VirtualComponent;
+import net.kyori.adventure.text.VirtualComponentRenderer;
 import net.kyori.adventure.text.minimessage.Context;
 import net.kyori.adventure.text.minimessage.ParsingException;
 import net.kyori.adventure.text.minimessage.tag.Tag;
@@ -12,25 +15,107 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
- * Resolver for {@link ComponentLike} argument tags.
- * This class implements {@link TagResolver} to resolve argument tags within strings in the minimessage format.
+ * Resolver for argument tags.
+ * This class implements {@link TagResolver} to resolve argument tags within strings in the minimessage format
+ * to placeholder components, which are compiled into argument slots by {@link TranslationTemplate}.
  * <p>
  * Note: Format '&lt;arg:ARG_INDEX&gt;' where ARG_INDEX is the index of the argument to resolve.
  * If no argument index is provided (meaning '&lt;arg&gt;'), it defaults to 0.
+ * The index must not exceed {@link #MAX_INDEX}.
+ * The index may be followed by an {@link ArgumentFormat} for primitive arguments, e.g. '&lt;arg:0:number:#,##0&gt;'.
+ * <p>
+ * Placeholder components are virtual components with a private renderer, so no translation can produce one by other means,
+ * e.g. through a translatable with a similar key.
  */
 @ApiStatus.Internal
 public class ComponentArgumentTag implements TagResolver {
 
+    /**
+     * The highest valid argument index.
+     */
+    public static final int MAX_INDEX = 255;
+
     private static final String[] ALIASES = {"arg", "argument"};
+    private static final ComponentArgumentTag INSTANCE = new ComponentArgumentTag();
 
-    private final List<? extends ComponentLike> argumentComponents;
+    private final @Nullable List<? extends ComponentLike> argumentComponents; // null if placeholders are inserted
+
+    private ComponentArgumentTag() {
+        this.argumentComponents = null;
+    }
 
+    /**
+     * Constructs a resolver inserting the given arguments directly, which requires parsing the translation on every render.
+     *
+     * @param argumentComponents the arguments to insert
+     * @deprecated translations are compiled once using {@link #placeholders()}, use {@link TranslationTemplate} instead
+     */
+    @Deprecated(forRemoval = true)
     public ComponentArgumentTag(List<? extends ComponentLike> argumentComponents) {
         this.argumentComponents = Objects.requireNonNull(argumentComponents, "argumentComponents");
     }
 
+    /**
+     * Gets the resolver which inserts placeholder components for argument tags.
+     *
+     * @see #placeholderIndex(Component)
+     */
+    public static ComponentArgumentTag placeholders() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a resolver which inserts placeholder components for argument tags,
+     * passing the message of each invalid argument tag to the given handler.
+     * <p>
+     * Note: Invalid argument tags are kept as text, as minimessage is lenient.
+     *
+     * @see #placeholders()
+     */
+    public static TagResolver placeholders(Consumer<String> errorHandler) {
+        return new TagResolver() {
+            @Override
+            public @Nullable Tag resolve(@NotNull String tagName, @NotNull ArgumentQueue arguments, @NotNull Context ctx) throws ParsingException {
+                try {
+                    return INSTANCE.resolve(tagName, arguments, ctx);
+                } catch (ParsingException e) {
+                    errorHandler.accept(e.detailMessage());
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean has(@NotNull String tagName) {
+                return INSTANCE.has(tagName);
+            }
+        };
+    }
+
+    /**
+     * Gets the argument index of the given placeholder component.
+     *
+     * @return the argument index, or -1 if the component is not a placeholder
+     * @see #placeholders()
+     */
+    public static int placeholderIndex(Component component) {
+        return component instanceof VirtualComponent virtual && virtual.renderer() instanceof Placeholder placeholder
+                ? placeholder.index() : -1;
+    }
+
+    /**
+     * Gets the format of the given placeholder component.
+     *
+     * @return the format, or null if the component is not a placeholder or its argument tag has no format
+     * @see #placeholderIndex(Component)
+     */
+    public static @Nullable ArgumentFormat placeholderFormat(Component component) {
+        return component instanceof VirtualComponent virtual && virtual.renderer() instanceof Placeholder placeholder
+                ? placeholder.format() : null;
+    }
+
     @Override
     public @Nullable Tag resolve(@NotNull String tagName, @NotNull ArgumentQueue arguments, @NotNull Context ctx) throws ParsingException {
         if (!has(tagName)) return null;
@@ -43,11 +128,33 @@ public class ComponentArgumentTag implements TagResolver {
             index = 0;
         }
 
-        if (index < 0 || index >= argumentComponents.size()) {
+        if (index < 0 || index > MAX_INDEX) {
             throw ctx.newException("Invalid argument index", arguments);
         }
 
-        return Tag.selfClosingInserting(argumentComponents.get(index));
+        if (argumentComponents != null) {
+            if (index >= argumentComponents.size()) {
+                throw ctx.newException("Invalid argument index", arguments);
+            }
+            return Tag.selfClosingInserting(argumentComponents.get(index));
+        }
+
+        if (!arguments.hasNext()) {
+            return Tag.selfClosingInserting(Component.virtual(Void.class, new Placeholder(index, null)));
+        }
+
+        // patterns may contain colons, which separate tag arguments
+        StringBuilder spec = new StringBuilder(arguments.pop().value());
+        while (arguments.hasNext())
+            spec.append(':').append(arguments.pop().value());
+        ArgumentFormat format;
+        try {
+            format = ArgumentFormat.of(spec.toString());
+        } catch (IllegalArgumentException e) {
+            throw ctx.newException("Invalid argument format: " + e.getMessage(), arguments);
+        }
+
+        return Tag.selfClosingInserting(Component.virtual(Void.class, new Placeholder(index, format)));
     }
 
     @Override
@@ -60,4 +167,21 @@ public class ComponentArgumentTag implements TagResolver {
         return false;
     }
 
-}
\ No newline at end of file
+    /**
+     * The renderer of a placeholder component, which is replaced before the component is rendered.
+     */
+    private record Placeholder(int index, @Nullable ArgumentFormat format) implements VirtualComponentRenderer<Void> {
+
+        @Override
+        public ComponentLike apply(Void context) {
+            return Component.empty();
+        }
+
+        @Override
+        public String fallbackString() {
+            return "";
+        }
+
+    }
+
+}
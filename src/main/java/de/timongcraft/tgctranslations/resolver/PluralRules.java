@@ -0,0 +1,150 @@
+package de.timongcraft.tgctranslations.resolver;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cardinal plural rules of the CLDR for common languages, resolved once per locale.
+ * <p>
+ * Languages without a rule here use the rule of English. Rules only differ by region for Portuguese,
+ * where Portugal ({@code pt_PT}) uses the rule of English and all other regions the one of Brazil.
+ */
+@ApiStatus.Internal
+public final class PluralRules {
+
+    private static final Map<Locale, Rule> RULES = new ConcurrentHashMap<>(); // by requested locale
+
+    /**
+     * Gets the plural category of the given number in the given locale.
+     */
+    public static Category select(Locale locale, Number number) {
+        Rule rule = RULES.get(locale);
+        if (rule == null) {
+            rule = RULES.computeIfAbsent(locale, PluralRules::resolveRule);
+        }
+
+        // i: absolute integer part, fraction: whether the number has visible fraction digits
+        long i;
+        boolean fraction;
+        if (number instanceof Double || number instanceof Float) {
+            double n = Math.abs(number.doubleValue());
+            if (!Double.isFinite(n)) return Category.OTHER;
+            i = (long) n;
+            fraction = n != Math.floor(n);
+        } else if (number instanceof BigDecimal decimal) {
+            i = decimal.abs().longValue();
+            fraction = decimal.scale() > 0;
+        } else {
+            i = Math.abs(number.longValue());
+            fraction = false;
+        }
+        return rule.select(i, fraction);
+    }
+
+    private static Rule resolveRule(Locale locale) {
+        return switch (locale.getLanguage()) {
+            case "ja", "zh", "ko", "vi", "th", "id", "ms", "lo", "my" -> (i, fraction) -> Category.OTHER;
+            // European Portuguese uses the rule of English, unlike Brazilian Portuguese
+            case "pt" -> "PT".equals(locale.getCountry()) ? PluralRules::selectEnglish : (i, fraction) -> i <= 1 ? Category.ONE : Category.OTHER;
+            case "fr" -> (i, fraction) -> i <= 1 ? Category.ONE : Category.OTHER;
+            case "es", "it", "tr", "hu", "el", "bg", "da", "nb", "no", "nn" ->
+                    (i, fraction) -> i == 1 && !fraction ? Category.ONE : Category.OTHER;
+            case "ru", "uk", "be" -> (i, fraction) -> {
+                if (fraction) return Category.OTHER;
+                if (i % 10 == 1 && i % 100 != 11) return Category.ONE;
+                if (i % 10 >= 2 && i % 10 <= 4 && (i % 100 < 12 || i % 100 > 14)) return Category.FEW;
+                return Category.MANY;
+            };
+            case "hr", "sr", "bs" -> (i, fraction) -> {
+                if (fraction) return Category.OTHER;
+                if (i % 10 == 1 && i % 100 != 11) return Category.ONE;
+                if (i % 10 >= 2 && i % 10 <= 4 && (i % 100 < 12 || i % 100 > 14)) return Category.FEW;
+                return Category.OTHER;
+            };
+            case "pl" -> (i, fraction) -> {
+                if (fraction) return Category.OTHER;
+                if (i == 1) return Category.ONE;
+                if (i % 10 >= 2 && i % 10 <= 4 && (i % 100 < 12 || i % 100 > 14)) return Category.FEW;
+                return Category.MANY;
+            };
+            case "cs", "sk" -> (i, fraction) -> {
+                if (fraction) return Category.MANY;
+                if (i == 1) return Category.ONE;
+                if (i >= 2 && i <= 4) return Category.FEW;
+                return Category.OTHER;
+            };
+            case "lt" -> (i, fraction) -> {
+                if (fraction) return Category.MANY;
+                if (i % 10 == 1 && (i % 100 < 11 || i % 100 > 19)) return Category.ONE;
+                if (i % 10 >= 2 && (i % 100 < 11 || i % 100 > 19)) return Category.FEW;
+                return Category.OTHER;
+            };
+            case "ro" -> (i, fraction) -> {
+                if (i == 1 && !fraction) return Category.ONE;
+                if (fraction || i == 0 || (i != 1 && i % 100 >= 1 && i % 100 <= 19)) return Category.FEW;
+                return Category.OTHER;
+            };
+            case "he", "iw" -> (i, fraction) -> {
+                if (fraction) return Category.OTHER;
+                if (i == 1) return Category.ONE;
+                if (i == 2) return Category.TWO;
+                return Category.OTHER;
+            };
+            case "ar" -> (i, fraction) -> {
+                if (fraction) return Category.OTHER;
+                if (i == 0) return Category.ZERO;
+                if (i == 1) return Category.ONE;
+                if (i == 2) return Category.TWO;
+                if (i % 100 >= 3 && i % 100 <= 10) return Category.FEW;
+                if (i % 100 >= 11) return Category.MANY;
+                return Category.OTHER;
+            };
+            default -> PluralRules::selectEnglish;
+        };
+    }
+
+    private static Category selectEnglish(long i, boolean fraction) {
+        return i == 1 && !fraction ? Category.ONE : Category.OTHER;
+    }
+
+    /**
+     * A plural category of the CLDR.
+     */
+    public enum Category {
+        ZERO,
+        ONE,
+        TWO,
+        FEW,
+        MANY,
+        OTHER;
+
+        private static final Category[] VALUES = values();
+
+        /**
+         * Gets the category of the given lowercase name, e.g. 'one'.
+         *
+         * @return the category, or null if there is no category with the name
+         */
+        public static @Nullable Category byName(String name) {
+            for (Category category : VALUES)
+                if (category.name().toLowerCase(Locale.ROOT).equals(name))
+                    return category;
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Rule {
+
+        Category select(long i, boolean fraction);
+
+    }
+
+    private PluralRules() {}
+
+}
@@ -0,0 +1,221 @@
+package de.timongcraft.tgctranslations.resolver;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A plural or select translation, choosing one of its compiled forms by the value of an argument.
+ * <p>
+ * Plural forms are chosen by exact values (e.g. '=0') first, and by the {@link PluralRules.Category} of the value otherwise.
+ * The forms of all categories are resolved at compile time, so choosing a form is an array lookup.
+ * Select forms are chosen by the plain text of the argument. Both fall back to the 'other' form.
+ * <p>
+ * Language files define choices as json objects, which are encoded into a single translation by the {@link de.timongcraft.tgctranslations.lang.TranslationReader}.
+ */
+@ApiStatus.Internal
+public final class TranslationChoice {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final String PLURAL_TYPE = "plural";
+    private static final String SELECT_TYPE = "select";
+    private static final String OTHER_FORM = "other";
+
+    private final boolean plural;
+    private final int argumentIndex;
+    private final long[] exactValues;
+    private final TranslationTemplate[] exactForms;
+    private final TranslationTemplate[] categoryForms; // by category ordinal
+    private final Map<String, TranslationTemplate> selectForms;
+    private final TranslationTemplate otherForm;
+    private final int arity;
+    private final boolean plainText;
+    private final String[] nestedKeys; // of all forms
+
+    private TranslationChoice(boolean plural, int argumentIndex, Map<String, TranslationTemplate> forms) {
+        this.plural = plural;
+        this.argumentIndex = argumentIndex;
+        this.otherForm = forms.get(OTHER_FORM);
+
+        int exactCount = 0;
+        long[] exactValues = new long[forms.size()];
+        TranslationTemplate[] exactForms = new TranslationTemplate[forms.size()];
+        TranslationTemplate[] categoryForms = new TranslationTemplate[PluralRules.Category.values().length];
+        Arrays.fill(categoryForms, otherForm);
+        if (plural) {
+            for (Map.Entry<String, TranslationTemplate> form : forms.entrySet()) {
+                if (form.getKey().startsWith("=")) {
+                    exactValues[exactCount] = Long.parseLong(form.getKey().substring(1));
+                    exactForms[exactCount++] = form.getValue();
+                } else {
+                    categoryForms[PluralRules.Category.byName(form.getKey()).ordinal()] = form.getValue();
+                }
+            }
+        }
+        this.exactValues = Arrays.copyOf(exactValues, exactCount);
+        this.exactForms = Arrays.copyOf(exactForms, exactCount);
+        this.categoryForms = categoryForms;
+        this.selectForms = plural ? Map.of() : Map.copyOf(forms);
+
+        int arity = argumentIndex + 1;
+        boolean plainText = true;
+        Set<String> nestedKeys = new HashSet<>();
+        for (TranslationTemplate form : forms.values()) {
+            arity = Math.max(arity, form.arity());
+            plainText &= form.hasPlainText();
+            nestedKeys.addAll(Arrays.asList(form.nestedKeys()));
+        }
+        this.arity = arity;
+        this.plainText = plainText;
+        this.nestedKeys = nestedKeys.toArray(String[]::new);
+    }
+
+    /**
+     * Encodes the given forms into a single translation.
+     *
+     * @param plural        whether the forms are plural forms, otherwise they are select forms
+     * @param argumentIndex the index of the argument choosing the form
+     * @param forms         the translations in the minimessage format by their selector, including 'other'
+     */
+    public static String encode(boolean plural, int argumentIndex, Map<String, String> forms) {
+        StringBuilder builder = new StringBuilder()
+                .append(SEPARATOR).append(plural ? PLURAL_TYPE : SELECT_TYPE)
+                .append(SEPARATOR).append(argumentIndex);
+        forms.forEach((selector, form) -> builder.append(SEPARATOR).append(selector).append(SEPARATOR).append(form));
+        return builder.toString();
+    }
+
+    /**
+     * Checks whether the given translation is an encoded choice.
+     */
+    public static boolean isEncoded(String literalTranslation) {
+        return !literalTranslation.isEmpty() && literalTranslation.charAt(0) == SEPARATOR;
+    }
+
+    /**
+     * Gets the 'other' form of the given encoded choice, e.g. to expose the choice as a single translation.
+     *
+     * @return the form in the minimessage format, or null if the translation is not a valid encoded choice
+     */
+    public static @Nullable String otherForm(String literalTranslation) {
+        String[] parts = literalTranslation.split(String.valueOf(SEPARATOR), -1);
+        for (int i = 3; i + 1 < parts.length; i += 2)
+            if (parts[i].equals(OTHER_FORM))
+                return parts[i + 1];
+        return null;
+    }
+
+    /**
+     * Checks whether the given selector is a plural category, e.g. 'one', or an exact value, e.g. '=0'.
+     */
+    public static boolean isPluralSelector(String selector) {
+        if (selector.startsWith("=")) {
+            try {
+                Long.parseLong(selector.substring(1));
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return PluralRules.Category.byName(selector) != null;
+    }
+
+    /**
+     * Compiles the forms of the given encoded choice.
+     *
+     * @param compiler the compiler of each form
+     * @return the choice, or null if the translation is not a valid encoded choice
+     */
+    static @Nullable TranslationChoice compile(String literalTranslation, Function<String, TranslationTemplate> compiler) {
+        String[] parts = literalTranslation.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length < 3 || parts.length % 2 == 0) return null;
+
+        boolean plural = parts[1].equals(PLURAL_TYPE);
+        int argumentIndex;
+        try {
+            argumentIndex = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        Map<String, TranslationTemplate> forms = new HashMap<>();
+        for (int i = 3; i < parts.length; i += 2) {
+            if (plural && !isPluralSelector(parts[i])) return null;
+            forms.put(parts[i], compiler.apply(parts[i + 1]));
+        }
+        if (argumentIndex < 0 || argumentIndex > ComponentArgumentTag.MAX_INDEX || !forms.containsKey(OTHER_FORM)) return null;
+
+        return new TranslationChoice(plural, argumentIndex, forms);
+    }
+
+    int arity() {
+        return arity;
+    }
+
+    boolean hasPlainText() {
+        return plainText;
+    }
+
+    String[] nestedKeys() {
+        return nestedKeys;
+    }
+
+    /**
+     * Chooses the form for the given arguments.
+     *
+     * @param arguments the rendered arguments, or their plain text or primitive values
+     */
+    TranslationTemplate select(List<?> arguments, Locale locale) {
+        Object value = argumentIndex < arguments.size() ? selectorValue(arguments.get(argumentIndex)) : null;
+        if (!plural) {
+            TranslationTemplate form = selectForms.get(String.valueOf(value));
+            return form != null ? form : otherForm;
+        }
+
+        Number number = value instanceof Number numberValue ? numberValue : value instanceof String string ? parseNumber(string) : null;
+        if (number == null) return otherForm;
+
+        if (exactValues.length != 0 && isIntegral(number)) {
+            long exactValue = number.longValue();
+            for (int i = 0; i < exactValues.length; i++)
+                if (exactValues[i] == exactValue)
+                    return exactForms[i];
+        }
+        return categoryForms[PluralRules.select(locale, number).ordinal()];
+    }
+
+    private static @Nullable Object selectorValue(Object argument) {
+        if (argument instanceof TranslationArgument translationArgument) argument = translationArgument.value();
+        if (argument instanceof TextComponent text && text.children().isEmpty()) return text.content();
+        if (argument instanceof Component component) return PlainTextComponentSerializer.plainText().serialize(component);
+        return argument;
+    }
+
+    private static @Nullable Number parseNumber(String string) {
+        try {
+            return new BigDecimal(string.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isIntegral(Number number) {
+        if (number instanceof Double || number instanceof Float) return number.doubleValue() == Math.rint(number.doubleValue());
+        if (number instanceof BigDecimal decimal) return decimal.scale() <= 0 || decimal.stripTrailingZeros().scale() <= 0;
+        return true;
+    }
+
+}
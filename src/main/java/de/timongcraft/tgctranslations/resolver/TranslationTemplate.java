@@ -0,0 +1,365 @@
+package de.timongcraft.tgctranslations.resolver;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A translation pre-compiled from the minimessage format, which can be rendered repeatedly without parsing it again.
+ * <p>
+ * Argument tags are compiled into indexed slots within an otherwise static component tree.
+ * Rendering only rebuilds the components on the paths leading to these slots.
+ * <p>
+ * Templates without nested translatables are also compiled into plain text segments between the argument slots,
+ * so they can be rendered to plain text without building components.
+ * <p>
+ * Slots of typed argument tags format primitive arguments using their {@link ArgumentFormat}.
+ * <p>
+ * Plural and select translations are compiled into a {@link TranslationChoice} of templates, one per form.
+ */
+@ApiStatus.Internal
+public final class TranslationTemplate {
+
+    private static final String[] NO_KEYS = new String[0];
+
+    private final Component component;
+    private final @Nullable Hole hole;
+    private final int arity;
+    private final String @Nullable [] plainTexts; // the text before each plain slot and after the last one
+    private final int[] plainSlots;
+    private final @Nullable ArgumentFormat[] plainFormats;
+    private final @Nullable TranslationChoice choice;
+    private final String[] nestedKeys; // the keys of all nested translatables, including the ones in hover texts and arguments
+
+    private TranslationTemplate(TranslationChoice choice) {
+        this.component = Component.empty();
+        this.hole = null;
+        this.arity = choice.arity();
+        this.plainTexts = null;
+        this.plainSlots = new int[0];
+        this.plainFormats = new ArgumentFormat[0];
+        this.choice = choice;
+        this.nestedKeys = choice.nestedKeys();
+    }
+
+    private TranslationTemplate(Component component) {
+        this.component = component;
+        this.choice = null;
+        this.hole = compileHole(component);
+        this.arity = hole == null ? 0 : hole.arity();
+
+        Set<String> nestedKeys = new HashSet<>();
+        collectNestedKeys(component, nestedKeys);
+        this.nestedKeys = nestedKeys.isEmpty() ? NO_KEYS : nestedKeys.toArray(String[]::new);
+
+        List<String> plainTexts = new ArrayList<>();
+        List<Integer> plainSlots = new ArrayList<>();
+        List<ArgumentFormat> plainFormats = new ArrayList<>();
+        StringBuilder plainText = new StringBuilder();
+        if (compilePlainText(component, plainText, plainTexts, plainSlots, plainFormats)) {
+            plainTexts.add(plainText.toString());
+            this.plainTexts = plainTexts.toArray(String[]::new);
+            this.plainSlots = plainSlots.stream().mapToInt(Integer::intValue).toArray();
+            this.plainFormats = plainFormats.toArray(ArgumentFormat[]::new);
+        } else {
+            this.plainTexts = null;
+            this.plainSlots = new int[0];
+            this.plainFormats = new ArgumentFormat[0];
+        }
+    }
+
+    /**
+     * Compiles the given literal translation into a template.
+     *
+     * @param literalTranslation the translation in the minimessage format
+     */
+    public static TranslationTemplate compile(String literalTranslation) {
+        Objects.requireNonNull(literalTranslation, "literalTranslation");
+        if (TranslationChoice.isEncoded(literalTranslation)) {
+            TranslationChoice choice = TranslationChoice.compile(literalTranslation, TranslationTemplate::compile);
+            if (choice != null) return new TranslationTemplate(choice);
+        }
+        return new TranslationTemplate(MiniMessage.miniMessage().deserialize(literalTranslation, ComponentArgumentTag.placeholders()));
+    }
+
+    /**
+     * Compiles the given literal translation into a template, passing the message of each invalid argument tag to the given handler.
+     *
+     * @param literalTranslation the translation in the minimessage format
+     * @param errorHandler       the handler receiving the error messages
+     */
+    public static TranslationTemplate compile(String literalTranslation, Consumer<String> errorHandler) {
+        Objects.requireNonNull(literalTranslation, "literalTranslation");
+        if (TranslationChoice.isEncoded(literalTranslation)) {
+            TranslationChoice choice = TranslationChoice.compile(literalTranslation, form -> compile(form, errorHandler));
+            if (choice != null) return new TranslationTemplate(choice);
+        }
+        return new TranslationTemplate(MiniMessage.miniMessage().deserialize(literalTranslation, ComponentArgumentTag.placeholders(errorHandler)));
+    }
+
+    /**
+     * Gets the number of arguments used by this template, which is the highest argument index plus one.
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Checks whether this template contains argument slots.
+     */
+    public boolean hasArguments() {
+        return arity != 0;
+    }
+
+    /**
+     * Checks whether the keys of all translatables nested in this template start with the given prefix,
+     * so rendering it depends on no other translations than the ones with that prefix.
+     *
+     * @param prefix the prefix of the translation keys, e.g. 'namespace.'
+     */
+    public boolean hasOnlyNestedKeys(String prefix) {
+        for (String nestedKey : nestedKeys)
+            if (!nestedKey.startsWith(prefix))
+                return false;
+        return true;
+    }
+
+    /**
+     * Gets the keys of all translatables nested in this template.
+     */
+    String[] nestedKeys() {
+        return nestedKeys;
+    }
+
+    /**
+     * Renders this template, filling the argument slots with the given arguments.
+     * <p>
+     * Note: Slots without a matching argument are rendered as empty components.
+     *
+     * @param arguments the already rendered arguments
+     */
+    public Component render(List<? extends ComponentLike> arguments) {
+        return render(arguments, Locale.ROOT);
+    }
+
+    /**
+     * Renders this template, filling the argument slots with the given arguments.
+     * <p>
+     * Primitive {@link TranslationArgument}s are formatted for the given locale if their slot has a format.
+     * Note: Slots without a matching argument are rendered as empty components.
+     *
+     * @param arguments the already rendered arguments
+     * @param locale    the locale used to format primitive arguments
+     */
+    public Component render(List<? extends ComponentLike> arguments, Locale locale) {
+        if (choice != null) return choice.select(arguments, locale).render(arguments, locale);
+        if (hole == null) return component;
+        return hole.fill(component, arguments, locale);
+    }
+
+    /**
+     * Checks whether this template can be rendered to plain text directly.
+     *
+     * @see #renderPlain(List, Locale)
+     */
+    public boolean hasPlainText() {
+        return choice != null ? choice.hasPlainText() : plainTexts != null;
+    }
+
+    /**
+     * Renders this template to plain text, filling the argument slots with the given plain text or primitive arguments.
+     * <p>
+     * Primitive arguments are formatted for the given locale if their slot has a format.
+     * Note: Slots without a matching argument are rendered as empty text.
+     *
+     * @param arguments the already rendered plain text arguments, or the values of primitive arguments
+     * @param locale    the locale used to format primitive arguments
+     * @return the plain text, or null if this template contains nested translatables, which have to be rendered first
+     */
+    public @Nullable String renderPlain(List<?> arguments, Locale locale) {
+        if (choice != null) return choice.select(arguments, locale).renderPlain(arguments, locale);
+        if (plainTexts == null) return null;
+        if (plainSlots.length == 0) return plainTexts[0];
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < plainSlots.length; i++) {
+            builder.append(plainTexts[i]);
+            if (plainSlots[i] >= arguments.size()) continue;
+            Object argument = arguments.get(plainSlots[i]);
+            if (argument instanceof String || plainFormats[i] == null) {
+                builder.append(argument);
+            } else {
+                builder.append(plainFormats[i].format(argument, locale));
+            }
+        }
+        return builder.append(plainTexts[plainSlots.length]).toString();
+    }
+
+    // plain text is the concatenation of the content of all components in depth-first order
+    private static boolean compilePlainText(Component component, StringBuilder plainText, List<String> plainTexts,
+                                            List<Integer> plainSlots, List<ArgumentFormat> plainFormats) {
+        int index = ComponentArgumentTag.placeholderIndex(component);
+        if (index >= 0) {
+            plainTexts.add(plainText.toString());
+            plainText.setLength(0);
+            plainSlots.add(index);
+            plainFormats.add(ComponentArgumentTag.placeholderFormat(component));
+            return true;
+        }
+
+        if (component instanceof TranslatableComponent) return false;
+        PlainTextComponentSerializer.plainText().serialize(plainText, component.children(List.of()));
+
+        for (Component child : component.children())
+            if (!compilePlainText(child, plainText, plainTexts, plainSlots, plainFormats))
+                return false;
+        return true;
+    }
+
+    private static void collectNestedKeys(Component component, Set<String> nestedKeys) {
+        if (component instanceof TranslatableComponent translatable) {
+            nestedKeys.add(translatable.key());
+            for (TranslationArgument argument : translatable.arguments())
+                if (argument.value() instanceof Component argumentComponent)
+                    collectNestedKeys(argumentComponent, nestedKeys);
+        }
+        if (component.hoverEvent() != null && component.hoverEvent().value() instanceof Component hoverText)
+            collectNestedKeys(hoverText, nestedKeys);
+        for (Component child : component.children())
+            collectNestedKeys(child, nestedKeys);
+    }
+
+    private static @Nullable Hole compileHole(Component component) {
+        int index = ComponentArgumentTag.placeholderIndex(component);
+        if (index >= 0) return new Slot(index, component.style(), ComponentArgumentTag.placeholderFormat(component));
+
+        Hole hoverHole = null;
+        if (component.hoverEvent() != null && component.hoverEvent().value() instanceof Component hoverText)
+            hoverHole = compileHole(hoverText);
+
+        Holes argumentHoles = Holes.NONE;
+        if (component instanceof TranslatableComponent translatable && !translatable.arguments().isEmpty()) {
+            List<Component> argumentComponents = new ArrayList<>(translatable.arguments().size());
+            for (TranslationArgument argument : translatable.arguments())
+                argumentComponents.add(argument.value() instanceof Component argumentComponent ? argumentComponent : Component.empty());
+            argumentHoles = Holes.compile(argumentComponents);
+        }
+
+        Holes childHoles = Holes.compile(component.children());
+
+        if (hoverHole == null && argumentHoles.isEmpty() && childHoles.isEmpty()) return null;
+
+        int arity = Math.max(argumentHoles.arity(), childHoles.arity());
+        if (hoverHole != null) arity = Math.max(arity, hoverHole.arity());
+
+        return new Branch(childHoles, argumentHoles, hoverHole, arity);
+    }
+
+    private sealed interface Hole {
+
+        int arity();
+
+        Component fill(Component component, List<? extends ComponentLike> arguments, Locale locale);
+
+    }
+
+    private record Slot(int index, Style style, @Nullable ArgumentFormat format) implements Hole {
+
+        @Override
+        public int arity() {
+            return index + 1;
+        }
+
+        @Override
+        public Component fill(Component component, List<? extends ComponentLike> arguments, Locale locale) {
+            ComponentLike argumentLike = index < arguments.size() ? arguments.get(index) : Component.empty();
+            Component argument = format != null && argumentLike instanceof TranslationArgument translationArgument
+                    && !(translationArgument.value() instanceof Component)
+                    ? Component.text(format.format(translationArgument.value(), locale))
+                    : argumentLike.asComponent();
+            return style.isEmpty() ? argument : argument.applyFallbackStyle(style);
+        }
+
+    }
+
+    private record Branch(Holes childHoles, Holes argumentHoles, @Nullable Hole hoverHole, int arity) implements Hole {
+
+        @Override
+        public Component fill(Component component, List<? extends ComponentLike> arguments, Locale locale) {
+            Component result = component;
+
+            if (hoverHole != null) {
+                Component hoverText = (Component) Objects.requireNonNull(component.hoverEvent()).value();
+                result = result.hoverEvent(HoverEvent.showText(hoverHole.fill(hoverText, arguments, locale)));
+            }
+
+            if (!argumentHoles.isEmpty()) {
+                TranslatableComponent translatable = (TranslatableComponent) result;
+                List<TranslationArgument> translationArguments = new ArrayList<>(translatable.arguments());
+                for (int i = 0; i < argumentHoles.indices().length; i++) {
+                    int argumentIndex = argumentHoles.indices()[i];
+                    Component argument = translationArguments.get(argumentIndex).asComponent();
+                    translationArguments.set(argumentIndex,
+                            TranslationArgument.component(argumentHoles.holes()[i].fill(argument, arguments, locale)));
+                }
+                result = translatable.arguments(translationArguments);
+            }
+
+            if (childHoles.isEmpty()) return result;
+
+            List<Component> children = new ArrayList<>(component.children());
+            for (int i = 0; i < childHoles.indices().length; i++) {
+                int childIndex = childHoles.indices()[i];
+                children.set(childIndex, childHoles.holes()[i].fill(children.get(childIndex), arguments, locale));
+            }
+            return result.children(children);
+        }
+
+    }
+
+    /**
+     * The holes of a list of components, e.g. the children or the arguments of a component, by their index in the list.
+     */
+    private record Holes(int[] indices, Hole[] holes, int arity) {
+
+        static final Holes NONE = new Holes(new int[0], new Hole[0], 0);
+
+        static Holes compile(List<Component> components) {
+            int[] indices = new int[components.size()];
+            Hole[] holes = new Hole[components.size()];
+            int holeCount = 0;
+            int arity = 0;
+            for (int i = 0; i < components.size(); i++) {
+                Hole hole = compileHole(components.get(i));
+                if (hole == null) continue;
+                indices[holeCount] = i;
+                holes[holeCount] = hole;
+                arity = Math.max(arity, hole.arity());
+                holeCount++;
+            }
+            return holeCount == 0 ? NONE : new Holes(Arrays.copyOf(indices, holeCount), Arrays.copyOf(holes, holeCount), arity);
+        }
+
+        boolean isEmpty() {
+            return indices.length == 0;
+        }
+
+    }
+
+}
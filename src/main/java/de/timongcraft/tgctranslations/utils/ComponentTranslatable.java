@@ -13,7 +13,22 @@ import org.jetbrains.annotations.NotNull;
 public interface ComponentTranslatable extends Translatable, ComponentLike {
 
     static ComponentTranslatable ofTranslationKey(String key) {
-        return new ComponentTranslatableImpl(key);
+        return new ComponentTranslatableImpl(key, -1);
+    }
+
+    /**
+     * Creates a translatable carrying the id assigned to the key by a
+     * {@link de.timongcraft.tgctranslations.TranslationKeyRegistry}.
+     */
+    static ComponentTranslatable ofTranslationKey(String key, int keyId) {
+        return new ComponentTranslatableImpl(key, keyId);
+    }
+
+    /**
+     * Gets the id assigned to the translation key, or -1 if none is known.
+     */
+    default int keyId() {
+        return -1;
     }
 
     @NotNull
@@ -4,7 +4,7 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TranslatableComponent;
 import org.jetbrains.annotations.NotNull;
 
-record ComponentTranslatableImpl(String key) implements ComponentTranslatable {
+record ComponentTranslatableImpl(String key, int keyId) implements ComponentTranslatable {
 
     @NotNull
     @Override
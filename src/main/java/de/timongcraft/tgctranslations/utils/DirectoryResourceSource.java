@@ -0,0 +1,49 @@
+package de.timongcraft.tgctranslations.utils;
+
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ResourceSource} of a resource folder which is not packed into a jar file, e.g. an exploded classpath directory.
+ */
+record DirectoryResourceSource(Map<String, Path> files) implements ResourceSource {
+
+    static final DirectoryResourceSource EMPTY = new DirectoryResourceSource(Map.of());
+
+    static DirectoryResourceSource of(Path folderPath) throws IOException {
+        try (Stream<Path> paths = Files.list(folderPath)) {
+            return new DirectoryResourceSource(paths.filter(Files::isRegularFile)
+                    .collect(Collectors.toUnmodifiableMap(path -> path.getFileName().toString(), path -> path)));
+        }
+    }
+
+    @Override
+    public @Unmodifiable Set<String> getFileNames() {
+        return files.keySet();
+    }
+
+    @Override
+    public @Nullable InputStream open(String fileName) throws IOException {
+        Path path = files.get(fileName);
+        return path == null ? null : Files.newInputStream(path);
+    }
+
+    @Override
+    public @Nullable String fingerprint(String fileName) throws IOException {
+        Path path = files.get(fileName);
+        if (path == null) return null;
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+    }
+
+}
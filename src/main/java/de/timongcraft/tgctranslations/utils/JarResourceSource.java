@@ -0,0 +1,76 @@
+package de.timongcraft.tgctranslations.utils;
+
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A {@link ResourceSource} of a folder inside a jar file.
+ * <p>
+ * The folder is listed once from the jar file, which is closed again right after.
+ * The checksum and size of each file are kept as its fingerprint.
+ * Files are opened through the class loader, which already keeps the jar file open, so no file handles are held by this source.
+ */
+final class JarResourceSource implements ResourceSource {
+
+    private final ClassLoader classLoader;
+    private final String entryPrefix;
+    private final Map<String, String> fingerprints; // file name -> crc and size
+
+    private JarResourceSource(ClassLoader classLoader, String entryPrefix, Map<String, String> fingerprints) {
+        this.classLoader = classLoader;
+        this.entryPrefix = entryPrefix;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * Gets the source of the given folder inside the jar file at the given path.
+     *
+     * @param jarPath     the path of the jar file
+     * @param folderPath  the path of the folder inside the jar file
+     * @param classLoader the class loader loading the resources of the jar file
+     */
+    static JarResourceSource of(Path jarPath, String folderPath, ClassLoader classLoader) throws IOException {
+        String entryPrefix = folderPath.endsWith("/") ? folderPath : folderPath + "/";
+        Map<String, String> fingerprints = new HashMap<>();
+
+        try (ZipFile zipFile = new ZipFile(jarPath.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry entry = zipEntries.nextElement();
+                if (entry.isDirectory() || !entry.getName().startsWith(entryPrefix)) continue;
+
+                String fileName = entry.getName().substring(entryPrefix.length());
+                if (fileName.indexOf('/') != -1) continue;
+                fingerprints.put(fileName, entry.getCrc() + ":" + entry.getSize());
+            }
+        }
+
+        return new JarResourceSource(classLoader, entryPrefix, Map.copyOf(fingerprints));
+    }
+
+    @Override
+    public @Unmodifiable Set<String> getFileNames() {
+        return fingerprints.keySet();
+    }
+
+    @Override
+    public @Nullable InputStream open(String fileName) throws IOException {
+        return fingerprints.containsKey(fileName) ? classLoader.getResourceAsStream(entryPrefix + fileName) : null;
+    }
+
+    @Override
+    public @Nullable String fingerprint(String fileName) {
+        return fingerprints.get(fileName);
+    }
+
+}
@@ -0,0 +1,88 @@
+package de.timongcraft.tgctranslations.utils;
+
+import com.google.gson.stream.JsonReader;
+import de.timongcraft.tgctranslations.lang.LanguageBundle;
+import de.timongcraft.tgctranslations.lang.TranslationReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Generates a {@link LanguageBundle} from a folder of json language files, for example during the build.
+ * <p>
+ * Usage: {@code java de.timongcraft.tgctranslations.utils.LanguageBundleGenerator <language folder> <bundle file>}
+ */
+public final class LanguageBundleGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LanguageBundleGenerator <language folder> <bundle file>");
+            System.exit(1);
+        }
+
+        generate(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Generates a bundle of all json language files in the given folder.
+     *
+     * @param folderPath the folder containing the json language files
+     * @param bundlePath the path of the bundle file to write
+     */
+    public static void generate(Path folderPath, Path bundlePath) throws IOException {
+        List<Path> languagePaths;
+        try (Stream<Path> paths = Files.list(folderPath)) {
+            languagePaths = paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+
+        Map<Locale, Map<String, String>> translations = new LinkedHashMap<>();
+        for (Path languagePath : languagePaths) {
+            Map<String, String> languageTranslations = new TreeMap<>();
+            try (InputStream stream = Files.newInputStream(languagePath)) {
+                readTranslations(stream, languageTranslations);
+            } catch (IOException e) {
+                throw new IOException("Invalid language file " + languagePath, e);
+            }
+            translations.put(ResourceUtils.getLocale(languagePath.getFileName().toString()), languageTranslations);
+        }
+
+        if (bundlePath.getParent() != null) Files.createDirectories(bundlePath.getParent());
+        try (OutputStream stream = Files.newOutputStream(bundlePath)) {
+            LanguageBundle.write(translations, stream);
+        }
+    }
+
+    /**
+     * Reads the translations of a json language file using the {@link TranslationReader}, ignoring entries which are not translations.
+     *
+     * @param stream       the stream of the json language file
+     * @param translations the map receiving the raw keys and values
+     * @throws IOException if the stream cannot be read or is not a valid language file
+     */
+    public static void readTranslations(InputStream stream, Map<String, String> translations) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            TranslationReader.readObject(reader, "", translations::put, rawKey -> {});
+            reader.endObject();
+        } catch (IllegalStateException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private LanguageBundleGenerator() {}
+
+}
@@ -0,0 +1,47 @@
+package de.timongcraft.tgctranslations.utils;
+
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * A folder of resource files, whose files are listed once and only opened when they are read.
+ *
+ * @see ResourceUtils#getResourceSource(String, ClassLoader, java.util.logging.Logger)
+ */
+public interface ResourceSource {
+
+    /**
+     * Gets a source without any files.
+     */
+    static ResourceSource empty() {
+        return DirectoryResourceSource.EMPTY;
+    }
+
+    /**
+     * Gets the names of all files directly inside the folder.
+     */
+    @Unmodifiable
+    Set<String> getFileNames();
+
+    /**
+     * Opens the file with the given name. The returned stream has to be closed by the caller.
+     *
+     * @return the stream, or null if the folder does not contain the file
+     */
+    @Nullable InputStream open(String fileName) throws IOException;
+
+    /**
+     * Gets a fingerprint of the file with the given name, which changes whenever the content of the file changes,
+     * e.g. based on its size and modification time. It is cheaper than reading the file.
+     *
+     * @return the fingerprint, or null if the file has no fingerprint and has to be read to detect changes
+     */
+    default @Nullable String fingerprint(String fileName) throws IOException {
+        return null;
+    }
+
+}
@@ -1,66 +1,107 @@
 package de.timongcraft.tgctranslations.utils;
 
+import de.timongcraft.tgctranslations.lang.LanguageBundle;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
+import java.net.JarURLConnection;
 import java.net.URL;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystemNotFoundException;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class ResourceUtils {
 
+    /**
+     * Opens all files of the given resource folder.
+     *
+     * @return the open streams by their file name, which have to be closed by the caller
+     * @deprecated opens every file eagerly, use {@link #getResourceSource(String, ClassLoader, Logger)} instead
+     */
+    @Deprecated
     @Unmodifiable
     public static Map<String, InputStream> getFileStreams(String folderPath, ClassLoader classLoader, Logger logger) {
-        try {
-            URL resourceUrl = classLoader.getResource(folderPath);
-            if (resourceUrl != null) {
-                FileSystem fileSystem = null;
-                boolean createdFileSystem = false;
-                try {
-                    URI resourceUri = resourceUrl.toURI();
-                    try {
-                        fileSystem = FileSystems.getFileSystem(resourceUri);
-                    } catch (FileSystemNotFoundException e) {
-                        fileSystem = FileSystems.newFileSystem(resourceUri, Collections.emptyMap());
-                        createdFileSystem = true;
-                    }
+        ResourceSource source = getResourceSource(folderPath, classLoader, logger);
+        Map<String, InputStream> streams = new HashMap<>();
+        for (String fileName : source.getFileNames()) {
+            try {
+                InputStream stream = source.open(fileName);
+                if (stream != null) streams.put(fileName, stream);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to read resource file " + folderPath + "/" + fileName, e);
+            }
+        }
+        return Collections.unmodifiableMap(streams);
+    }
+
+    /**
+     * Gets the {@link ResourceSource} of the given resource folder, which lists its files once and opens them lazily.
+     * <p>
+     * Folders inside jar files are listed from the jar file directly, their files are opened through the class loader.
+     *
+     * @return the source, or an empty source if the folder does not exist or could not be read
+     */
+    public static ResourceSource getResourceSource(String folderPath, ClassLoader classLoader, Logger logger) {
+        URL resourceUrl = classLoader.getResource(folderPath);
+        if (resourceUrl == null) {
+            logger.log(Level.WARNING, "Unable to find folder " + folderPath + " in resources");
+            return ResourceSource.empty();
+        }
 
-                    Path folderRootPath = fileSystem.getPath(folderPath);
-                    try (Stream<Path> paths = Files.walk(folderRootPath, 1)) {
-                        return paths.filter(path -> !path.equals(folderRootPath))
-                                .map(path -> {
-                                    InputStream stream = classLoader.getResourceAsStream(path.toString());
-                                    if (stream == null) return null;
-                                    return Map.entry(path.getFileName().toString(), stream);
-                                })
-                                .filter(Objects::nonNull)
-                                .collect(Collectors.toMap(
-                                        Map.Entry::getKey,
-                                        Map.Entry::getValue));
-                    }
-                } finally {
-                    if (createdFileSystem && fileSystem != null) {
-                        fileSystem.close();
-                    }
+        try {
+            switch (resourceUrl.getProtocol()) {
+                case "file" -> {
+                    return DirectoryResourceSource.of(Path.of(resourceUrl.toURI()));
+                }
+                case "jar" -> {
+                    URL jarUrl = ((JarURLConnection) resourceUrl.openConnection()).getJarFileURL();
+                    return JarResourceSource.of(Path.of(jarUrl.toURI()), folderPath, classLoader);
+                }
+                default -> {
+                    logger.log(Level.WARNING, "Unable to read resources files from " + folderPath
+                            + ", as " + resourceUrl.getProtocol() + " resources are not supported");
+                    return ResourceSource.empty();
                 }
-            } else {
-                logger.log(Level.WARNING, "Unable to find folder " + folderPath + " in resources");
             }
         } catch (Exception e) {
             logger.log(Level.WARNING, "Unable to read resources files from " + folderPath, e);
+            return ResourceSource.empty();
         }
-        return Collections.emptyMap();
+    }
+
+    /**
+     * Gets a {@link LanguageBundle} from the resources, mapping it into memory if it is not packed into a jar file.
+     *
+     * @return the bundle, or null if it does not exist or could not be read
+     */
+    public static @Nullable LanguageBundle getBundle(String bundlePath, ClassLoader classLoader, Logger logger) {
+        URL resourceUrl = classLoader.getResource(bundlePath);
+        if (resourceUrl == null) return null;
+
+        try {
+            if ("file".equals(resourceUrl.getProtocol())) {
+                return LanguageBundle.map(Path.of(resourceUrl.toURI()));
+            }
+
+            InputStream stream = classLoader.getResourceAsStream(bundlePath);
+            return stream == null ? null : LanguageBundle.read(stream);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Unable to read language bundle " + bundlePath, e);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the {@link Locale} of a language file name, for example 'en_us.json'.
+     */
+    public static Locale getLocale(String fileName) {
+        return Locale.forLanguageTag(fileName.substring(0, fileName.length() - 5).replace("_", "-"));
     }
 
     private ResourceUtils() {}
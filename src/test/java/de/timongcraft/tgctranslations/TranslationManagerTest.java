@@ -0,0 +1,506 @@
+package de.timongcraft.tgctranslations;
+
+import de.timongcraft.tgctranslations.lang.DirectoryLanguageProvider;
+import de.timongcraft.tgctranslations.lang.LanguageBundle;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class TranslationManagerTest {
+
+    private static final Logger LOGGER = Logger.getLogger("TgcTranslations test");
+    private static final Set<String> KEYS = Set.of("test.plain", "test.english_only", "test.nested.key", "test.welcome",
+            "test.foreign", "test.colored", "test.items", "test.greeting");
+    private static final Locale AUSTRIA = Locale.of("de", "AT");
+    private static final Locale SPAIN = Locale.of("es", "ES");
+
+    @TempDir
+    Path tempDir;
+
+    private final List<TranslationManager> managers = new ArrayList<>();
+    private long lastModified = 1_000_000;
+
+    @AfterEach
+    void unload() {
+        managers.forEach(TranslationManager::unload);
+    }
+
+    @Test
+    void reusesTemplatesWithDifferentArguments() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        assertEquals("Welcome, Alex!", render(manager, "welcome", Locale.US, Component.text("Alex")));
+        assertEquals("Welcome, Sam!", render(manager, "welcome", Locale.US, Component.text("Sam")));
+        assertEquals("Willkommen, Sam!", render(manager, "welcome", Locale.GERMANY, Component.text("Sam")));
+        assertEquals("Hello", render(manager, "plain", Locale.US));
+    }
+
+    @Test
+    void clearsTemplatesOnLoad() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        TranslationManager manager = manager(overridesFolderPath);
+        manager.load();
+        assertEquals("Welcome, Alex!", render(manager, "welcome", Locale.US, Component.text("Alex")));
+
+        write(overridesFolderPath.resolve("en_US.json"), "{\"welcome\": \"Hi <arg:0>\"}");
+        manager.load();
+
+        assertEquals("Hi Alex", render(manager, "welcome", Locale.US, Component.text("Alex")));
+    }
+
+    @Test
+    void resolvesResourcesThroughGivenClassLoader() throws IOException {
+        Path classPath = tempDir.resolve("classes");
+        write(classPath.resolve("plugin/lang/en_US.json"), "{\"plain\": \"From plugin\"}");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classPath.toUri().toURL()}, null)) {
+            TranslationManager manager = new TranslationManager(LOGGER, KEYS::contains, Key.key("test", "translations"), Locale.US,
+                    classLoader, "plugin/lang", null);
+            managers.add(manager);
+            manager.load();
+
+            assertEquals("From plugin", render(manager, "plain", Locale.US));
+        }
+    }
+
+    @Test
+    void readsResourcesFromJarFile() throws IOException {
+        Path jarPath = tempDir.resolve("plugin.jar");
+        try (JarOutputStream stream = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            stream.putNextEntry(new JarEntry("plugin/lang/"));
+            stream.putNextEntry(new JarEntry("plugin/lang/en_US.json"));
+            stream.write("{\"plain\": \"From jar\"}".getBytes(StandardCharsets.UTF_8));
+            stream.putNextEntry(new JarEntry("plugin/lang/nested/de_DE.json"));
+            stream.write("{\"plain\": \"Not a language\"}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, null)) {
+            TranslationManager manager = new TranslationManager(LOGGER, KEYS::contains, Key.key("test", "translations"), Locale.US,
+                    classLoader, "plugin/lang", null);
+            managers.add(manager);
+            manager.load();
+
+            assertEquals(Set.of(Locale.US), manager.getLanguages().keySet());
+            assertEquals("From jar", render(manager, "plain", Locale.US));
+        }
+    }
+
+    @Test
+    void loadsTranslationsNestingPlaceholderLikeKeys() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        write(overridesFolderPath.resolve("de_DE.json"), "{\"plain\": \"<lang:tgctranslations.argument.x>\"}");
+        TranslationManager manager = manager(overridesFolderPath);
+        manager.load();
+
+        assertEquals(Set.of(Locale.US, Locale.GERMANY, SPAIN), manager.getLanguages().keySet());
+        assertEquals(Component.translatable("tgctranslations.argument.x"),
+                manager.translate(Component.translatable("test.plain"), Locale.GERMANY));
+        assertEquals("Willkommen, Sam!", render(manager, "welcome", Locale.GERMANY, Component.text("Sam")));
+    }
+
+    @Test
+    void resolvesFallbacks() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        assertEquals("Hallo", render(manager, "plain", Locale.GERMANY));
+        assertEquals("Hallo", render(manager, "plain", AUSTRIA)); // language parent
+        assertEquals("English only", render(manager, "english_only", AUSTRIA)); // default locale
+        assertEquals("Hello", render(manager, "plain", Locale.FRANCE)); // no language
+        assertEquals("Nested", render(manager, "nested.key", Locale.GERMANY));
+    }
+
+    @Test
+    void ignoresMalformedOverrideFiles() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        write(overridesFolderPath.resolve("en_us.json"), "{\"plain\": \"Overridden\", \"welcome\": ");
+        TranslationManager manager = manager(overridesFolderPath);
+        manager.load();
+
+        assertEquals("Hello", render(manager, "plain", Locale.US));
+        assertEquals("Welcome, Sam!", render(manager, "welcome", Locale.US, Component.text("Sam")));
+    }
+
+    @Test
+    void reloadsWatchedOverrides() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        TranslationManager manager = manager(overridesFolderPath);
+        manager.load();
+        manager.watchOverrides(Duration.ofMillis(50));
+
+        write(overridesFolderPath.resolve("de_DE.json"), "{\"plain\": \"Servus\"}");
+
+        await(() -> "Servus".equals(render(manager, "plain", Locale.GERMANY)));
+        assertEquals("Willkommen, Sam!", render(manager, "welcome", Locale.GERMANY, Component.text("Sam")));
+        assertEquals("Hello", render(manager, "plain", Locale.US));
+    }
+
+    @Test
+    void reloadsLanguageOfMixedCaseFiles() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        write(overridesFolderPath.resolve("de_DE.json"), "{\"plain\": \"Servus\"}");
+        TranslationManager manager = manager(overridesFolderPath);
+        manager.load();
+        assertEquals(Set.of(Locale.US, Locale.GERMANY, SPAIN), manager.getLanguages().keySet());
+        assertEquals("Servus", render(manager, "plain", Locale.GERMANY));
+
+        write(overridesFolderPath.resolve("de_DE.json"), "{\"plain\": \"Grüß Gott\"}");
+        manager.reloadLanguage(Locale.GERMANY);
+
+        assertEquals("Grüß Gott", render(manager, "plain", Locale.GERMANY));
+        assertEquals("Willkommen, Sam!", render(manager, "welcome", Locale.GERMANY, Component.text("Sam")));
+    }
+
+    @Test
+    void reloadFindsNewOverrideFile() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        TranslationManager manager = manager(overridesFolderPath);
+        manager.load();
+
+        write(overridesFolderPath.resolve("de_DE.json"), "{\"plain\": \"Moin\"}");
+        manager.reloadLanguage(Locale.GERMANY);
+
+        assertEquals("Moin", render(manager, "plain", Locale.GERMANY));
+    }
+
+    @Test
+    void loadsLanguagesLazily() {
+        TranslationManager manager = manager(null);
+        manager.lazyLoading(Duration.ofMinutes(1));
+        manager.load();
+        assertEquals(Set.of(Locale.US), manager.getLanguages().keySet());
+
+        render(manager, "plain", SPAIN);
+        await(() -> manager.getLanguages().containsKey(SPAIN));
+
+        assertEquals("Hola", render(manager, "plain", SPAIN));
+    }
+
+    @Test
+    void loadsMixedCaseFilesLazily() {
+        TranslationManager manager = manager(null);
+        manager.lazyLoading(Duration.ofMinutes(1));
+        manager.load();
+
+        render(manager, "plain", AUSTRIA); // requests de_DE as language parent
+        await(() -> manager.getLanguages().containsKey(Locale.GERMANY));
+
+        assertEquals("Hallo", render(manager, "plain", AUSTRIA));
+    }
+
+    @Test
+    void evictsIdleLanguages() {
+        TranslationManager manager = manager(null);
+        manager.lazyLoading(Duration.ofMillis(200));
+        manager.load();
+
+        render(manager, "plain", SPAIN);
+        await(() -> manager.getLanguages().containsKey(SPAIN));
+        await(() -> !manager.getLanguages().containsKey(SPAIN));
+
+        assertEquals(Set.of(Locale.US), manager.getLanguages().keySet()); // the default language is kept
+    }
+
+    @Test
+    void selectsPluralForms() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        assertEquals("No items", render(manager, "items", Locale.US, TranslationArgument.numeric(0)));
+        assertEquals("1 item", render(manager, "items", Locale.US, TranslationArgument.numeric(1)));
+        assertEquals("5 items", render(manager, "items", Locale.US, TranslationArgument.numeric(5)));
+        assertEquals("1 Gegenstand", render(manager, "items", Locale.GERMANY, TranslationArgument.numeric(1)));
+        assertEquals("0 Gegenstände", render(manager, "items", Locale.GERMANY, TranslationArgument.numeric(0)));
+    }
+
+    @Test
+    void selectsSelectForms() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        assertEquals("Welcome, Madam", render(manager, "greeting", Locale.US, Component.text("female")));
+        assertEquals("Welcome, Sir", render(manager, "greeting", Locale.US, Component.text("male")));
+        assertEquals("Welcome", render(manager, "greeting", Locale.US, Component.text("unknown")));
+    }
+
+    @Test
+    void exposesOtherFormOfChoices() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        assertEquals("<arg:0> items", manager.getLanguages().get(Locale.US).translate("test.items"));
+        assertEquals("Welcome", manager.getLanguages().get(Locale.US).translate("test.greeting"));
+    }
+
+    @Test
+    void roundTripsPersistentCache() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        Path cacheFolderPath = tempDir.resolve("lang.cache");
+        write(overridesFolderPath.resolve("en_us.json"), "{\"plain\": \"Overridden\"}");
+
+        TranslationManager writingManager = manager(overridesFolderPath);
+        writingManager.persistentCache(true);
+        writingManager.loadLanguages();
+        await(() -> cacheFiles(cacheFolderPath).size() == 1);
+        Path cachePath = cacheFiles(cacheFolderPath).getFirst();
+
+        Map<Locale, Map<String, String>> cachedTranslations = translations(LanguageBundle.map(cachePath));
+        assertEquals("Overridden", cachedTranslations.get(Locale.US).get("plain"));
+        assertEquals("Hallo", cachedTranslations.get(Locale.GERMANY).get("plain"));
+
+        // replaced with a marker, which is only rendered if the cache is used
+        cachedTranslations.get(Locale.US).put("plain", "From cache");
+        Path tempPath = Files.createTempFile(cacheFolderPath, "marker", ".tmp");
+        try (OutputStream stream = Files.newOutputStream(tempPath)) {
+            LanguageBundle.write(cachedTranslations, stream);
+        }
+        Files.move(tempPath, cachePath, StandardCopyOption.REPLACE_EXISTING);
+
+        TranslationManager cachedManager = manager(overridesFolderPath);
+        cachedManager.persistentCache(true);
+        cachedManager.loadLanguages();
+        assertEquals("From cache", render(cachedManager, "plain", Locale.US));
+        assertEquals("Willkommen, Sam!", render(cachedManager, "welcome", Locale.GERMANY, Component.text("Sam")));
+
+        write(overridesFolderPath.resolve("en_us.json"), "{\"plain\": \"Changed\"}");
+        TranslationManager changedManager = manager(overridesFolderPath);
+        changedManager.persistentCache(true);
+        changedManager.loadLanguages();
+        assertEquals("Changed", render(changedManager, "plain", Locale.US));
+        await(() -> {
+            List<Path> cacheFiles = cacheFiles(cacheFolderPath);
+            return cacheFiles.size() == 1 && !cacheFiles.contains(cachePath);
+        });
+    }
+
+    @Test
+    void replacesCorruptPersistentCache() throws IOException {
+        Path overridesFolderPath = tempDir.resolve("lang");
+        Path cacheFolderPath = tempDir.resolve("lang.cache");
+        write(overridesFolderPath.resolve("en_us.json"), "{\"plain\": \"Overridden\"}");
+
+        TranslationManager writingManager = manager(overridesFolderPath);
+        writingManager.persistentCache(true);
+        writingManager.loadLanguages();
+        await(() -> cacheFiles(cacheFolderPath).size() == 1);
+        Path cachePath = cacheFiles(cacheFolderPath).getFirst();
+
+        // truncated, e.g. by a crash
+        byte[] bytes = Files.readAllBytes(cachePath);
+        Files.write(cachePath, Arrays.copyOf(bytes, bytes.length / 2));
+
+        TranslationManager corruptManager = manager(overridesFolderPath);
+        corruptManager.persistentCache(true);
+        corruptManager.loadLanguages();
+        assertEquals("Overridden", render(corruptManager, "plain", Locale.US));
+        await(() -> {
+            try {
+                return Files.size(cachePath) == bytes.length;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+
+    @Test
+    void writesCacheOfAllLanguagesWhenLazy() {
+        Path cacheFolderPath = tempDir.resolve("lang.cache");
+        TranslationManager manager = manager(tempDir.resolve("lang"));
+        manager.persistentCache(true);
+        manager.lazyLoading(Duration.ofMinutes(1));
+        manager.load();
+
+        await(() -> cacheFiles(cacheFolderPath).size() == 1);
+        await(() -> {
+            try {
+                return translations(LanguageBundle.map(cacheFiles(cacheFolderPath).getFirst())).keySet()
+                        .equals(Set.of(Locale.US, Locale.GERMANY, SPAIN));
+            } catch (IOException e) {
+                return false; // still being written
+            }
+        });
+    }
+
+    @Test
+    void syncsProvidedTranslations() throws IOException {
+        Path sharedFolderPath = tempDir.resolve("shared");
+        write(sharedFolderPath.resolve("es_es.json"), "{\"plain\": \"Compartido\"}");
+        TranslationManager manager = manager(null);
+        manager.languageProvider(new DirectoryLanguageProvider(LOGGER, sharedFolderPath));
+        manager.load();
+        assertEquals("Compartido", render(manager, "plain", SPAIN));
+
+        write(sharedFolderPath.resolve("es_es.json"), "{\"plain\": \"Nuevo\", \"english_only\": \"Ya no\"}");
+        manager.syncLanguages();
+        assertEquals("Nuevo", render(manager, "plain", SPAIN));
+        assertEquals("Ya no", render(manager, "english_only", SPAIN));
+
+        // removed translations fall back to the language files
+        Files.delete(sharedFolderPath.resolve("es_es.json"));
+        manager.syncLanguages();
+        assertEquals("Hola", render(manager, "plain", SPAIN));
+        assertEquals("English only", render(manager, "english_only", SPAIN));
+    }
+
+    @Test
+    void mergesStyleAndChildren() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        Component plain = manager.translate(Component.translatable("test.plain", NamedTextColor.RED, TextDecoration.ITALIC)
+                .append(Component.text("!")), Locale.US);
+        assertEquals(Component.text("Hello", NamedTextColor.RED, TextDecoration.ITALIC).append(Component.text("!")), plain);
+
+        Component colored = manager.translate(Component.translatable("test.colored", NamedTextColor.RED, TextDecoration.ITALIC),
+                Locale.US);
+        assertEquals(Component.text("Blue", NamedTextColor.BLUE, TextDecoration.ITALIC), colored);
+    }
+
+    @Test
+    void syncsRemovalsOfMixedCaseFiles() throws IOException {
+        Path sharedFolderPath = tempDir.resolve("shared");
+        write(sharedFolderPath.resolve("de_DE.json"), "{\"plain\": \"Geteilt\"}");
+        TranslationManager manager = manager(null);
+        manager.languageProvider(new DirectoryLanguageProvider(LOGGER, sharedFolderPath));
+        manager.load();
+        assertEquals("Geteilt", render(manager, "plain", Locale.GERMANY));
+
+        Files.delete(sharedFolderPath.resolve("de_DE.json"));
+        manager.syncLanguages();
+
+        assertEquals("Hallo", render(manager, "plain", Locale.GERMANY));
+        assertEquals("Willkommen, Sam!", render(manager, "welcome", Locale.GERMANY, Component.text("Sam")));
+    }
+
+    @Test
+    void syncRethrowsProviderFailure() {
+        TranslationManager manager = manager(null);
+        manager.load();
+        manager.languageProvider(version -> {
+            throw new IOException("Unavailable");
+        });
+
+        assertThrows(UncheckedIOException.class, manager::syncLanguages);
+    }
+
+    @Test
+    void cachesRenderedMessages() {
+        TranslationManager manager = manager(null);
+        manager.load();
+
+        manager.render(Component.translatable("test.plain"), Locale.US);
+        manager.render(Component.translatable("test.plain"), Locale.US);
+        manager.render(Component.translatable("test.welcome", Component.text("Sam")), Locale.US); // not cacheable
+        manager.render(Component.translatable("test.foreign"), Locale.US); // nests a key of another manager
+        manager.render(Component.translatable("test.foreign"), Locale.US);
+
+        CacheStats stats = manager.renderCacheStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void recordsOneLookupPerGlobalRender() {
+        TranslationManager manager = manager(null);
+        manager.load();
+        manager.metrics().setEnabled(true);
+
+        assertTrue(manager.canTranslate("test.plain", Locale.US));
+        assertFalse(manager.canTranslate("test.unknown", Locale.US));
+        assertEquals(0, manager.metrics().getLookupCount());
+
+        GlobalTranslator.render(Component.translatable("test.welcome", Component.text("Sam")), Locale.US);
+        assertEquals(1, manager.metrics().getLookupCount());
+    }
+
+    private TranslationManager manager(@Nullable Path overridesFolderPath) {
+        TranslationManager manager = new TranslationManager(LOGGER, KEYS::contains, Key.key("test", "translations"), Locale.US,
+                TranslationManagerTest.class.getClassLoader(), "test/lang", overridesFolderPath);
+        managers.add(manager);
+        return manager;
+    }
+
+    private static String render(TranslationManager manager, String rawKey, Locale locale, ComponentLike... arguments) {
+        return manager.renderPlain(Component.translatable("test." + rawKey, arguments), locale);
+    }
+
+    // with a distinct modification time, so changes are detected regardless of the file system precision
+    private void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified += 1000));
+    }
+
+    private static List<Path> cacheFiles(Path cacheFolderPath) {
+        if (!Files.isDirectory(cacheFolderPath)) return List.of();
+        try (Stream<Path> paths = Files.list(cacheFolderPath)) {
+            return paths.filter(path -> path.getFileName().toString().endsWith(".bundle")).toList();
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    private static Map<Locale, Map<String, String>> translations(LanguageBundle bundle) {
+        Map<Locale, Map<String, String>> translations = new HashMap<>();
+        for (Locale locale : bundle.getLocales()) {
+            Map<String, String> languageTranslations = new HashMap<>();
+            bundle.forEachTranslation(locale, languageTranslations::put);
+            translations.put(locale, languageTranslations);
+        }
+        return translations;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("Condition not met within 5 seconds");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+package de.timongcraft.tgctranslations.lang;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectoryLanguageProviderTest {
+
+    @TempDir
+    Path folderPath;
+
+    private long lastModified = 1_000_000;
+
+    @Test
+    void firstChangesAreComplete() throws IOException {
+        write("en_US.json", "{\"a\": \"1\", \"nested\": {\"b\": \"2\"}}");
+        DirectoryLanguageProvider provider = provider();
+
+        LanguageChanges changes = provider.changesSince(LanguageProvider.NO_VERSION);
+
+        assertTrue(changes.complete());
+        assertEquals(Map.of(Locale.US, Map.of("a", "1", "nested.b", "2")), changes.changed());
+        assertEquals(Map.of(), changes.removed());
+        assertTrue(changes.version() > LanguageProvider.NO_VERSION);
+    }
+
+    @Test
+    void unchangedFilesHaveNoChanges() throws IOException {
+        write("en_US.json", "{\"a\": \"1\"}");
+        DirectoryLanguageProvider provider = provider();
+        long version = provider.changesSince(LanguageProvider.NO_VERSION).version();
+
+        LanguageChanges changes = provider.changesSince(version);
+
+        assertTrue(changes.isEmpty());
+        assertEquals(version, changes.version());
+    }
+
+    @Test
+    void changesOfLastVersionAreDeltas() throws IOException {
+        write("en_US.json", "{\"a\": \"1\", \"b\": \"2\"}");
+        write("de_DE.json", "{\"a\": \"eins\"}");
+        DirectoryLanguageProvider provider = provider();
+        long version = provider.changesSince(LanguageProvider.NO_VERSION).version();
+
+        write("en_US.json", "{\"a\": \"1\", \"b\": \"3\", \"c\": \"4\"}");
+        LanguageChanges changes = provider.changesSince(version);
+        assertFalse(changes.complete());
+        assertEquals(version + 1, changes.version());
+        assertEquals(Map.of(Locale.US, Map.of("b", "3", "c", "4")), changes.changed());
+        assertEquals(Map.of(), changes.removed());
+
+        write("en_US.json", "{\"a\": \"1\"}");
+        Files.delete(folderPath.resolve("de_DE.json"));
+        changes = provider.changesSince(changes.version());
+        assertFalse(changes.complete());
+        assertEquals(Map.of(), changes.changed());
+        assertEquals(Map.of(Locale.US, Set.of("b", "c"), Locale.GERMANY, Set.of("a")), changes.removed());
+    }
+
+    @Test
+    void changesOfOlderVersionsAreComplete() throws IOException {
+        write("en_US.json", "{\"a\": \"1\"}");
+        DirectoryLanguageProvider provider = provider();
+        long version = provider.changesSince(LanguageProvider.NO_VERSION).version();
+        write("en_US.json", "{\"a\": \"2\"}");
+        provider.changesSince(version);
+        write("en_US.json", "{\"a\": \"33\"}");
+
+        LanguageChanges changes = provider.changesSince(version);
+
+        assertTrue(changes.complete());
+        assertEquals(version + 2, changes.version());
+        assertEquals(Map.of(Locale.US, Map.of("a", "33")), changes.changed());
+    }
+
+    @Test
+    void invalidFilesFail() throws IOException {
+        write("en_US.json", "[\"a\"]");
+
+        assertThrows(IOException.class, () -> provider().changesSince(LanguageProvider.NO_VERSION));
+    }
+
+    private DirectoryLanguageProvider provider() {
+        return new DirectoryLanguageProvider(Logger.getLogger("TgcTranslations test"), folderPath);
+    }
+
+    // with a distinct modification time, so changes are detected regardless of the file system precision
+    private void write(String fileName, String content) throws IOException {
+        Path path = folderPath.resolve(fileName);
+        Files.writeString(path, content);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified += 1000));
+    }
+
+}
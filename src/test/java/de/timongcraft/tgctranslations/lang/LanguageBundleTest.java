@@ -0,0 +1,94 @@
+package de.timongcraft.tgctranslations.lang;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LanguageBundleTest {
+
+    private static final Map<Locale, Map<String, String>> TRANSLATIONS = Map.of(
+            Locale.US, Map.of("plain", "Hello", "nested.key", "<arg:0> and <red>more</red>", "empty", ""),
+            Locale.GERMANY, Map.of("plain", "Grüß Gott", "emoji", "😀"),
+            Locale.JAPANESE, Map.of()
+    );
+
+    @TempDir
+    Path folderPath;
+
+    @Test
+    void readsWrittenBundle() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        LanguageBundle.write(TRANSLATIONS, stream);
+
+        LanguageBundle bundle = LanguageBundle.read(new ByteArrayInputStream(stream.toByteArray()));
+
+        assertEquals(TRANSLATIONS, translations(bundle));
+    }
+
+    @Test
+    void mapsWrittenBundle() throws IOException {
+        Path path = folderPath.resolve("languages.bundle");
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            LanguageBundle.write(TRANSLATIONS, stream);
+        }
+
+        LanguageBundle bundle = LanguageBundle.map(path);
+
+        assertEquals(TRANSLATIONS, translations(bundle));
+    }
+
+    @Test
+    void skipsMissingLocale() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        LanguageBundle.write(Map.of(Locale.US, Map.of("plain", "Hello")), stream);
+        LanguageBundle bundle = LanguageBundle.read(new ByteArrayInputStream(stream.toByteArray()));
+
+        Map<String, String> translations = new HashMap<>();
+        bundle.forEachTranslation(Locale.GERMANY, translations::put);
+
+        assertEquals(Set.of(Locale.US), bundle.getLocales());
+        assertEquals(Map.of(), translations);
+    }
+
+    @Test
+    void rejectsCorruptBundles() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        LanguageBundle.write(TRANSLATIONS, stream);
+        byte[] bytes = stream.toByteArray();
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncatedBytes = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> LanguageBundle.read(new ByteArrayInputStream(truncatedBytes)));
+        }
+
+        byte[] corruptBytes = bytes.clone();
+        ByteBuffer.wrap(corruptBytes).putInt(8, Integer.MAX_VALUE); // string count
+        assertThrows(IOException.class, () -> LanguageBundle.read(new ByteArrayInputStream(corruptBytes)));
+    }
+
+    private static Map<Locale, Map<String, String>> translations(LanguageBundle bundle) {
+        Map<Locale, Map<String, String>> translations = new HashMap<>();
+        for (Locale locale : bundle.getLocales()) {
+            Map<String, String> languageTranslations = new HashMap<>();
+            bundle.forEachTranslation(locale, languageTranslations::put);
+            translations.put(locale, languageTranslations);
+        }
+        return translations;
+    }
+
+}
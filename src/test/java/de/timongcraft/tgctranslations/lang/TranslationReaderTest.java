@@ -0,0 +1,95 @@
+package de.timongcraft.tgctranslations.lang;
+
+import com.google.gson.stream.JsonReader;
+import de.timongcraft.tgctranslations.resolver.TranslationChoice;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TranslationReaderTest {
+
+    private final Map<String, String> translations = new LinkedHashMap<>();
+    private final List<String> unknownEntries = new ArrayList<>();
+
+    @Test
+    void flattensNestedObjects() throws IOException {
+        read("{\"a\": \"x\", \"nested\": {\"b\": \"y\", \"deeper\": {\"c\": \"z\"}}, \"number\": 5}");
+
+        assertEquals(Map.of("a", "x", "nested.b", "y", "nested.deeper.c", "z"), translations);
+        assertEquals(List.of("number"), unknownEntries);
+    }
+
+    @Test
+    void readsPluralObjects() throws IOException {
+        read("{\"items\": {\"$plural\": 1, \"=0\": \"none\", \"one\": \"one item\", \"other\": \"items\"}}");
+
+        assertEquals(Map.of("items", TranslationChoice.encode(true, 1, orderedMap("=0", "none", "one", "one item", "other", "items"))),
+                translations);
+        assertEquals(List.of(), unknownEntries);
+    }
+
+    @Test
+    void readsSelectObjects() throws IOException {
+        read("{\"greeting\": {\"$select\": 0, \"male\": \"Sir\", \"other\": \"Hello\"}}");
+
+        assertEquals(Map.of("greeting", TranslationChoice.encode(false, 0, orderedMap("male", "Sir", "other", "Hello"))),
+                translations);
+    }
+
+    @Test
+    void pluralCategoriesWithoutMarkerAreNestedKeys() throws IOException {
+        read("{\"items\": {\"one\": \"one item\", \"other\": \"items\"}}");
+
+        assertEquals(Map.of("items.one", "one item", "items.other", "items"), translations);
+        assertEquals(List.of(), unknownEntries);
+    }
+
+    @Test
+    void acceptsMarkerAtAnyPosition() throws IOException {
+        read("{\"items\": {\"one\": \"one item\", \"$plural\": 0, \"other\": \"items\"}}");
+
+        assertEquals(Map.of("items", TranslationChoice.encode(true, 0, orderedMap("one", "one item", "other", "items"))),
+                translations);
+        assertEquals(List.of(), unknownEntries);
+    }
+
+    @Test
+    void reportsNestedObjectsInChoices() throws IOException {
+        read("{\"items\": {\"nested\": {\"a\": \"x\"}, \"$select\": 0, \"other\": \"items\"}}");
+
+        assertEquals(Map.of("items", TranslationChoice.encode(false, 0, Map.of("other", "items"))), translations);
+        assertEquals(List.of("items.nested"), unknownEntries);
+    }
+
+    @Test
+    void reportsInvalidChoices() throws IOException {
+        read("{\"noOther\": {\"$plural\": 0, \"one\": \"x\"}, \"badIndex\": {\"$select\": \"a\", \"other\": \"y\"},"
+                + " \"badForm\": {\"$plural\": 0, \"several\": \"z\", \"other\": \"w\"}}");
+
+        assertEquals(Map.of("badForm", TranslationChoice.encode(true, 0, Map.of("other", "w"))), translations);
+        assertEquals(List.of("noOther", "badIndex", "badForm.several"), unknownEntries);
+    }
+
+    private void read(String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            TranslationReader.readObject(reader, "", translations::put, unknownEntries::add);
+            reader.endObject();
+        }
+    }
+
+    private static Map<String, String> orderedMap(String... entries) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2)
+            map.put(entries[i], entries[i + 1]);
+        return map;
+    }
+
+}
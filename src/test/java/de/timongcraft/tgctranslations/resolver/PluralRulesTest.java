@@ -0,0 +1,113 @@
+package de.timongcraft.tgctranslations.resolver;
+
+import de.timongcraft.tgctranslations.resolver.PluralRules.Category;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static de.timongcraft.tgctranslations.resolver.PluralRules.Category.FEW;
+import static de.timongcraft.tgctranslations.resolver.PluralRules.Category.MANY;
+import static de.timongcraft.tgctranslations.resolver.PluralRules.Category.ONE;
+import static de.timongcraft.tgctranslations.resolver.PluralRules.Category.OTHER;
+import static de.timongcraft.tgctranslations.resolver.PluralRules.Category.TWO;
+import static de.timongcraft.tgctranslations.resolver.PluralRules.Category.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PluralRulesTest {
+
+    @Test
+    void english() {
+        assertCategories(Locale.US, OTHER, 0, ONE, 1, OTHER, 2, OTHER, 11, OTHER, 101);
+        assertEquals(OTHER, PluralRules.select(Locale.US, 1.5));
+        assertEquals(OTHER, PluralRules.select(Locale.US, new BigDecimal("1.0")));
+        assertEquals(ONE, PluralRules.select(Locale.US, -1));
+    }
+
+    @Test
+    void unknownLanguageUsesEnglish() {
+        assertCategories(Locale.forLanguageTag("eo"), OTHER, 0, ONE, 1, OTHER, 2);
+    }
+
+    @Test
+    void noPlurals() {
+        assertCategories(Locale.JAPANESE, OTHER, 0, OTHER, 1, OTHER, 2);
+    }
+
+    @Test
+    void french() {
+        assertCategories(Locale.FRANCE, ONE, 0, ONE, 1, OTHER, 2);
+        assertEquals(ONE, PluralRules.select(Locale.FRANCE, 1.5));
+    }
+
+    @Test
+    void portugueseByRegion() {
+        Locale brazil = Locale.of("pt", "BR");
+        assertCategories(brazil, ONE, 0, ONE, 1, OTHER, 2);
+        assertCategories(Locale.of("pt"), ONE, 0, ONE, 1, OTHER, 2);
+
+        Locale portugal = Locale.of("pt", "PT");
+        assertCategories(portugal, OTHER, 0, ONE, 1, OTHER, 2);
+        assertEquals(OTHER, PluralRules.select(portugal, 1.5));
+    }
+
+    @Test
+    void romanian() {
+        Locale romanian = Locale.of("ro");
+        assertCategories(romanian, FEW, 0, ONE, 1, FEW, 2, FEW, 19, OTHER, 20, OTHER, 100,
+                FEW, 101, FEW, 119, OTHER, 120, FEW, 201);
+        assertEquals(FEW, PluralRules.select(romanian, 1.5));
+    }
+
+    @Test
+    void russian() {
+        Locale russian = Locale.of("ru");
+        assertCategories(russian, MANY, 0, ONE, 1, FEW, 2, FEW, 4, MANY, 5, MANY, 11, MANY, 12, ONE, 21, FEW, 22, MANY, 111);
+        assertEquals(OTHER, PluralRules.select(russian, 1.5));
+    }
+
+    @Test
+    void polish() {
+        assertCategories(Locale.of("pl"), MANY, 0, ONE, 1, FEW, 2, MANY, 5, MANY, 12, MANY, 21, FEW, 22);
+    }
+
+    @Test
+    void czech() {
+        Locale czech = Locale.of("cs");
+        assertCategories(czech, OTHER, 0, ONE, 1, FEW, 2, FEW, 4, OTHER, 5);
+        assertEquals(MANY, PluralRules.select(czech, 1.5));
+    }
+
+    @Test
+    void lithuanian() {
+        assertCategories(Locale.of("lt"), OTHER, 0, ONE, 1, FEW, 2, OTHER, 10, OTHER, 11, OTHER, 12, ONE, 21, FEW, 22);
+    }
+
+    @Test
+    void hebrew() {
+        assertCategories(Locale.of("he"), OTHER, 0, ONE, 1, TWO, 2, OTHER, 3);
+    }
+
+    @Test
+    void arabic() {
+        assertCategories(Locale.of("ar"), ZERO, 0, ONE, 1, TWO, 2, FEW, 3, FEW, 10, MANY, 11, MANY, 99,
+                OTHER, 100, OTHER, 102, FEW, 103);
+    }
+
+    @Test
+    void categoryByName() {
+        assertEquals(FEW, Category.byName("few"));
+        assertNull(Category.byName("FEW"));
+        assertNull(Category.byName("several"));
+    }
+
+    // pairs of the expected category and the number
+    private static void assertCategories(Locale locale, Object... expectations) {
+        for (int i = 0; i < expectations.length; i += 2) {
+            int number = (Integer) expectations[i + 1];
+            assertEquals(expectations[i], PluralRules.select(locale, number), locale + " " + number);
+        }
+    }
+
+}
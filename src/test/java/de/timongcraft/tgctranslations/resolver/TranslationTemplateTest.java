@@ -0,0 +1,69 @@
+package de.timongcraft.tgctranslations.resolver;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class TranslationTemplateTest {
+
+    @Test
+    void fillsArgumentSlots() {
+        TranslationTemplate template = TranslationTemplate.compile("Hi <arg:1> and <arg:0>");
+
+        assertEquals(2, template.arity());
+        assertEquals("Hi Sam and Alex", plain(template.render(List.of(Component.text("Alex"), Component.text("Sam")))));
+        assertEquals("Hi Sam and Alex", template.renderPlain(List.of("Alex", "Sam"), Locale.US));
+    }
+
+    @Test
+    void keepsTranslatablesWithPlaceholderLikeKeys() {
+        TranslationTemplate template = TranslationTemplate.compile("<lang:tgctranslations.argument.x>");
+
+        assertFalse(template.hasArguments());
+        assertEquals(Component.translatable("tgctranslations.argument.x"), template.render(List.of(Component.text("Alex"))));
+    }
+
+    @Test
+    void fillsArgumentSlotsInTranslatableArguments() {
+        TranslationTemplate template = TranslationTemplate.compile("<lang:other.key:'<arg:0>'>");
+
+        assertEquals(1, template.arity());
+        Component rendered = template.render(List.of(Component.text("Alex")));
+        TranslatableComponent translatable = assertInstanceOf(TranslatableComponent.class, rendered);
+        assertEquals("other.key", translatable.key());
+        assertEquals("Alex", plain(translatable.arguments().get(0).asComponent()));
+    }
+
+    @Test
+    void rendersMissingArgumentsEmpty() {
+        TranslationTemplate template = TranslationTemplate.compile("Hi <arg:0> and <arg:255>");
+
+        assertEquals(256, template.arity());
+        assertEquals("Hi Alex and ", plain(template.render(List.of(Component.text("Alex")))));
+        assertEquals("Hi Alex and ", template.renderPlain(List.of("Alex"), Locale.US));
+    }
+
+    @Test
+    void rejectsArgumentIndicesAboveMaximum() {
+        List<String> errors = new ArrayList<>();
+        TranslationTemplate template = TranslationTemplate.compile("Hi <arg:2147483647>", errors::add);
+
+        assertFalse(template.hasArguments());
+        assertFalse(errors.isEmpty());
+        assertEquals("Hi <arg:2147483647>", plain(template.render(List.of(Component.text("Alex")))));
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+}